@@ -0,0 +1,53 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@ConfigurationProperties(prefix = "analysis.cache")
+public class AnalysisCacheConfig {
+    
+    private boolean enabled = true;
+    
+    // Append-only journal of per-file metrics (by content hash) and per-repository results (by tree hash)
+    private String path = "data/analysis-cache.jsonl";
+    
+    // Upper bound for the journal on disk; live entries are held to half of it so compaction always frees space
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    
+    // (path, size, modified time) -> content hash memo, so unchanged files aren't even read
+    private int maxStatEntries = 200000;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public int getMaxStatEntries() {
+        return maxStatEntries;
+    }
+    
+    public void setMaxStatEntries(int maxStatEntries) {
+        this.maxStatEntries = maxStatEntries;
+    }
+}
@@ -0,0 +1,73 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "collaborators")
+public class CollaboratorJobConfig {
+    
+    private boolean enabled = true;
+    
+    // Nightly by default; an interrupted run resumes from its checkpoints at the next startup
+    private String cron = "0 30 2 * * *";
+    
+    // Peers stored per student
+    private int topK = 10;
+    
+    private double minSimilarity = 0.2;
+    
+    // Branches processed at once
+    private int threads = 4;
+    
+    // Students written (and checkpointed) per transaction
+    private int chunkSize = 200;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getCron() {
+        return cron;
+    }
+    
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+    
+    public int getTopK() {
+        return topK;
+    }
+    
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+    
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+    
+    public void setMinSimilarity(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
@@ -0,0 +1,101 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "google.ai.api")
+public class GoogleAIConfig implements LlmProviderConfig {
+    
+    private String key;
+    private String baseUrl;
+    private String model = "gemini-pro";
+    private int maxTokens = 2048;
+    private double temperature = 0.7;
+    
+    // Same timeout and bulkhead semantics as the OpenAI client (see OpenAIConfig)
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration totalTimeout = Duration.ofSeconds(45);
+    private int maxConcurrentRequests = 16;
+    
+    public boolean isConfigured() {
+        return key != null &&
+               !key.isBlank() &&
+               !key.startsWith("your_");
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+    
+    public String getModel() {
+        return model;
+    }
+    
+    public void setModel(String model) {
+        this.model = model;
+    }
+    
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+    
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+    
+    public double getTemperature() {
+        return temperature;
+    }
+    
+    public void setTemperature(double temperature) {
+        this.temperature = temperature;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+    
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+    
+    public Duration getTotalTimeout() {
+        return totalTimeout;
+    }
+    
+    public void setTotalTimeout(Duration totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+}
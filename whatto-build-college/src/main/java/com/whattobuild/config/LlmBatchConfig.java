@@ -0,0 +1,66 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openai.batch")
+public class LlmBatchConfig {
+    
+    // Collect concurrent recommendation requests into one multi-student prompt
+    private boolean enabled = true;
+    
+    // How long the first request of a batch waits for company
+    private Duration window = Duration.ofMillis(25);
+    
+    // Students per prompt; a full batch is sent without waiting for the window
+    private int maxStudents = 8;
+    
+    // Estimated tokens for a batch prompt; students that don't fit move to the next batch
+    private int tokenBudget = 8000;
+    
+    // Completion tokens requested per student in the batch
+    private int maxTokensPerStudent = 400;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Duration getWindow() {
+        return window;
+    }
+    
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+    
+    public int getMaxStudents() {
+        return maxStudents;
+    }
+    
+    public void setMaxStudents(int maxStudents) {
+        this.maxStudents = maxStudents;
+    }
+    
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+    
+    public void setTokenBudget(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+    
+    public int getMaxTokensPerStudent() {
+        return maxTokensPerStudent;
+    }
+    
+    public void setMaxTokensPerStudent(int maxTokensPerStudent) {
+        this.maxTokensPerStudent = maxTokensPerStudent;
+    }
+}
@@ -0,0 +1,65 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openai.cache")
+public class LlmCacheConfig {
+    
+    private boolean enabled = true;
+    
+    // Append-only journal of completions; replayed at startup to warm the cache
+    private String path = "data/llm-cache.jsonl";
+    
+    private Duration ttl = Duration.ofDays(7);
+    
+    // Completions kept in memory (least recently used are dropped first)
+    private int maxEntries = 10000;
+    
+    // The journal is compacted to live entries once it grows past this size
+    private DataSize maxFileSize = DataSize.ofMegabytes(64);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+    
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+}
@@ -0,0 +1,97 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openai.circuit-breaker")
+public class LlmCircuitBreakerConfig {
+    
+    // Rolling window of the most recent LLM calls used to compute error and slow-call rates
+    private int windowSize = 20;
+    
+    // Calls required in the window before the breaker may open
+    private int minimumCalls = 10;
+    
+    private double failureRateThreshold = 0.5;
+    
+    // Calls slower than this count as slow; the breaker opens when too many are
+    private Duration slowCallDuration = Duration.ofSeconds(10);
+    
+    private double slowCallRateThreshold = 0.5;
+    
+    // How long the breaker stays open before letting probe calls through
+    private Duration openDuration = Duration.ofSeconds(30);
+    
+    // Successful probes needed in half-open state to close again
+    private int halfOpenProbes = 3;
+    
+    // Past this, the request is answered by the local scorer; the LLM answer still lands in the response cache
+    private Duration latencySlo = Duration.ofSeconds(3);
+    
+    public int getWindowSize() {
+        return windowSize;
+    }
+    
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+    
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+    
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+    
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+    
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+    
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+    
+    public void setSlowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+    
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+    
+    public void setSlowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+    
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+    
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+    
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+    
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+    
+    public Duration getLatencySlo() {
+        return latencySlo;
+    }
+    
+    public void setLatencySlo(Duration latencySlo) {
+        this.latencySlo = latencySlo;
+    }
+}
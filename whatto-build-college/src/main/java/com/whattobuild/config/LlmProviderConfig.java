@@ -0,0 +1,27 @@
+package com.whattobuild.config;
+
+import java.time.Duration;
+
+/**
+ * Connection settings every chat completion provider has; see
+ * {@link com.whattobuild.service.HttpLlmClient}.
+ */
+public interface LlmProviderConfig {
+    
+    String getKey();
+    
+    String getBaseUrl();
+    
+    String getModel();
+    
+    Duration getConnectTimeout();
+    
+    Duration getReadTimeout();
+    
+    Duration getTotalTimeout();
+    
+    int getMaxConcurrentRequests();
+    
+    // True when a real key is set, as opposed to a placeholder
+    boolean isConfigured();
+}
@@ -0,0 +1,116 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "llm.router")
+public class LlmRouterConfig {
+    
+    // Providers the router may call; one that isn't listed is never used, even with a key set
+    private List<String> providers = List.of("openai");
+    
+    // Tie-break order for providers without enough latency samples yet
+    private List<String> preferred = List.of("openai", "gemini");
+    
+    // Fire the request at the next provider when the first hasn't answered within its hedge-percentile latency
+    private boolean hedgingEnabled = true;
+    private double hedgePercentile = 0.95;
+    
+    // Hedge delay used until a provider has min-samples successful calls, and the floor afterwards
+    private Duration defaultHedgeDelay = Duration.ofSeconds(2);
+    private Duration minHedgeDelay = Duration.ofMillis(250);
+    private int minSamples = 20;
+    
+    // Successful-call latencies kept per provider for the percentile
+    private int latencySamples = 256;
+    
+    // Weight of the newest call in the per-provider latency and error-rate averages
+    private double ewmaAlpha = 0.1;
+    
+    // Hedges may add at most this fraction of extra upstream calls, so a slow provider can't double the load
+    private double hedgeBudget = 0.1;
+    
+    public List<String> getProviders() {
+        return providers;
+    }
+    
+    public void setProviders(List<String> providers) {
+        this.providers = providers;
+    }
+    
+    public List<String> getPreferred() {
+        return preferred;
+    }
+    
+    public void setPreferred(List<String> preferred) {
+        this.preferred = preferred;
+    }
+    
+    public boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+    
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+        this.hedgingEnabled = hedgingEnabled;
+    }
+    
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+    
+    public void setHedgePercentile(double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+    
+    public Duration getDefaultHedgeDelay() {
+        return defaultHedgeDelay;
+    }
+    
+    public void setDefaultHedgeDelay(Duration defaultHedgeDelay) {
+        this.defaultHedgeDelay = defaultHedgeDelay;
+    }
+    
+    public Duration getMinHedgeDelay() {
+        return minHedgeDelay;
+    }
+    
+    public void setMinHedgeDelay(Duration minHedgeDelay) {
+        this.minHedgeDelay = minHedgeDelay;
+    }
+    
+    public int getMinSamples() {
+        return minSamples;
+    }
+    
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+    
+    public int getLatencySamples() {
+        return latencySamples;
+    }
+    
+    public void setLatencySamples(int latencySamples) {
+        this.latencySamples = latencySamples;
+    }
+    
+    public double getEwmaAlpha() {
+        return ewmaAlpha;
+    }
+    
+    public void setEwmaAlpha(double ewmaAlpha) {
+        this.ewmaAlpha = ewmaAlpha;
+    }
+    
+    public double getHedgeBudget() {
+        return hedgeBudget;
+    }
+    
+    public void setHedgeBudget(double hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+    }
+}
@@ -0,0 +1,104 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mock-ai")
+public class MockAIConfig {
+    
+    // Response latency is log-normal, fitted to this median and p99; equal values give a fixed latency
+    private Duration latencyMedian = Duration.ofMillis(800);
+    
+    private Duration latencyP99 = Duration.ofSeconds(4);
+    
+    // Fractions of requests answered with HTTP 500, HTTP 429, or held for hang-duration before a 504
+    private double errorRate = 0.0;
+    
+    private double rateLimitRate = 0.0;
+    
+    private double hangRate = 0.0;
+    
+    private Duration hangDuration = Duration.ofSeconds(120);
+    
+    // Streaming: characters per chunk and the pause between chunks after the first one
+    private int chunkChars = 12;
+    
+    private Duration chunkDelay = Duration.ofMillis(25);
+    
+    private int threads = 4;
+    
+    public Duration getLatencyMedian() {
+        return latencyMedian;
+    }
+    
+    public void setLatencyMedian(Duration latencyMedian) {
+        this.latencyMedian = latencyMedian;
+    }
+    
+    public Duration getLatencyP99() {
+        return latencyP99;
+    }
+    
+    public void setLatencyP99(Duration latencyP99) {
+        this.latencyP99 = latencyP99;
+    }
+    
+    public double getErrorRate() {
+        return errorRate;
+    }
+    
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+    
+    public double getRateLimitRate() {
+        return rateLimitRate;
+    }
+    
+    public void setRateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+    }
+    
+    public double getHangRate() {
+        return hangRate;
+    }
+    
+    public void setHangRate(double hangRate) {
+        this.hangRate = hangRate;
+    }
+    
+    public Duration getHangDuration() {
+        return hangDuration;
+    }
+    
+    public void setHangDuration(Duration hangDuration) {
+        this.hangDuration = hangDuration;
+    }
+    
+    public int getChunkChars() {
+        return chunkChars;
+    }
+    
+    public void setChunkChars(int chunkChars) {
+        this.chunkChars = chunkChars;
+    }
+    
+    public Duration getChunkDelay() {
+        return chunkDelay;
+    }
+    
+    public void setChunkDelay(Duration chunkDelay) {
+        this.chunkDelay = chunkDelay;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
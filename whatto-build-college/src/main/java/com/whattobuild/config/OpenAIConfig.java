@@ -3,19 +3,38 @@ package com.whattobuild.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
-@ConfigurationProperties(prefix = "openai")
-public class OpenAIConfig {
+@ConfigurationProperties(prefix = "openai.api")
+public class OpenAIConfig implements LlmProviderConfig {
     
-    private String apiKey;
+    private String key;
     private String baseUrl;
+    private String model = "gpt-4";
+    
+    // Timeouts for the chat completion call; total bounds the whole exchange including the body
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    private Duration totalTimeout = Duration.ofSeconds(45);
     
-    public String getApiKey() {
-        return apiKey;
+    // Bulkhead: calls beyond this many in flight fail fast and fall back to local scoring
+    private int maxConcurrentRequests = 16;
+    
+    // True when a real key is set, as opposed to the development placeholders
+    public boolean isConfigured() {
+        return key != null &&
+               !key.isBlank() &&
+               !key.equals("mock-key-for-development") &&
+               !key.startsWith("your_");
     }
     
-    public void setApiKey(String apiKey) {
-        this.apiKey = apiKey;
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
     }
     
     public String getBaseUrl() {
@@ -25,5 +44,44 @@ public class OpenAIConfig {
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
+    
+    public String getModel() {
+        return model;
+    }
+    
+    public void setModel(String model) {
+        this.model = model;
+    }
+    
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+    
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+    
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+    
+    public Duration getTotalTimeout() {
+        return totalTimeout;
+    }
+    
+    public void setTotalTimeout(Duration totalTimeout) {
+        this.totalTimeout = totalTimeout;
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
-
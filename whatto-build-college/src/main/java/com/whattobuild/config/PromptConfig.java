@@ -0,0 +1,42 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "openai.prompt")
+public class PromptConfig {
+    
+    // Locally pre-ranked projects offered to the model, before the token budget is applied
+    private int maxCandidates = 25;
+    
+    // Estimated prompt tokens (system + user message) the builder will not exceed
+    private int tokenBudget = 3000;
+    
+    // Project descriptions are cut to this many characters at a word boundary
+    private int maxDescriptionChars = 240;
+    
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+    
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+    
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+    
+    public void setTokenBudget(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+    
+    public int getMaxDescriptionChars() {
+        return maxDescriptionChars;
+    }
+    
+    public void setMaxDescriptionChars(int maxDescriptionChars) {
+        this.maxDescriptionChars = maxDescriptionChars;
+    }
+}
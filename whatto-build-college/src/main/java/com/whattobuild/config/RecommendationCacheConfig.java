@@ -0,0 +1,42 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "recommend.cache")
+public class RecommendationCacheConfig {
+    
+    private boolean enabled = true;
+    
+    // Maximum number of cached (branch, skills, catalog version, limit) entries
+    private long maxSize = 10000;
+    
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public long getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+    
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
@@ -0,0 +1,43 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "recommend.details")
+public class RecommendationDetailsConfig {
+    
+    // Persist ids and scores only and render reasoning, resume points and learning plan on demand
+    private boolean lazy = true;
+    
+    // Rendered details kept per recommendation id
+    private long cacheMaxSize = 10000;
+    
+    private Duration cacheExpireAfterWrite = Duration.ofHours(1);
+    
+    public boolean isLazy() {
+        return lazy;
+    }
+    
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+    
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+    
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+    
+    public Duration getCacheExpireAfterWrite() {
+        return cacheExpireAfterWrite;
+    }
+    
+    public void setCacheExpireAfterWrite(Duration cacheExpireAfterWrite) {
+        this.cacheExpireAfterWrite = cacheExpireAfterWrite;
+    }
+}
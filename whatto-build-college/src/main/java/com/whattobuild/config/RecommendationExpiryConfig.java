@@ -0,0 +1,76 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "recommendations.expiry")
+public class RecommendationExpiryConfig {
+    
+    private boolean enabled = true;
+    
+    // Hourly by default; each run works through the backlog in chunks
+    private String cron = "0 15 * * * *";
+    
+    // ACTIVE rows not regenerated for this long are marked EXPIRED
+    private Duration ttl = Duration.ofDays(7);
+    
+    // EXPIRED rows are deleted once they have gone this long without a refresh on top of the ttl
+    private Duration retention = Duration.ofDays(30);
+    
+    // Rows updated or deleted per transaction, so no statement holds row locks for long
+    private int chunkSize = 1000;
+    
+    // Pause between chunks, leaving room for request traffic
+    private Duration pause = Duration.ofMillis(50);
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getCron() {
+        return cron;
+    }
+    
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+    
+    public Duration getTtl() {
+        return ttl;
+    }
+    
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+    
+    public Duration getRetention() {
+        return retention;
+    }
+    
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+    
+    public Duration getPause() {
+        return pause;
+    }
+    
+    public void setPause(Duration pause) {
+        this.pause = pause;
+    }
+}
@@ -0,0 +1,108 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "analysis")
+public class RepositoryAnalysisConfig {
+    
+    // Only checkouts under this directory can be analyzed (file:// URLs or paths relative to it)
+    private String workspaceRoot = "workspace";
+    
+    // Scanner threads shared by all analyses
+    private int threads = 4;
+    
+    // Analyses allowed to run at once; further requests are rejected rather than queued
+    private int maxConcurrentAnalyses = 2;
+    
+    // Per-repository limits; past them the scan stops and the result is marked truncated
+    private int maxFiles = 20000;
+    private DataSize maxTotalSize = DataSize.ofMegabytes(256);
+    private Duration timeout = Duration.ofSeconds(30);
+    
+    // Larger source files are counted but not read
+    private DataSize maxFileSize = DataSize.ofMegabytes(2);
+    
+    // Files at least this large are memory-mapped instead of copied into a heap buffer
+    private DataSize mmapThreshold = DataSize.ofKilobytes(64);
+    
+    private List<String> excludedDirectories = List.of(".git", "node_modules", "target", "build", "dist", "out",
+            ".idea", ".gradle", "vendor", "__pycache__", "venv", ".venv");
+    
+    public String getWorkspaceRoot() {
+        return workspaceRoot;
+    }
+    
+    public void setWorkspaceRoot(String workspaceRoot) {
+        this.workspaceRoot = workspaceRoot;
+    }
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+    
+    public int getMaxConcurrentAnalyses() {
+        return maxConcurrentAnalyses;
+    }
+    
+    public void setMaxConcurrentAnalyses(int maxConcurrentAnalyses) {
+        this.maxConcurrentAnalyses = maxConcurrentAnalyses;
+    }
+    
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+    
+    public void setMaxFiles(int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+    
+    public DataSize getMaxTotalSize() {
+        return maxTotalSize;
+    }
+    
+    public void setMaxTotalSize(DataSize maxTotalSize) {
+        this.maxTotalSize = maxTotalSize;
+    }
+    
+    public Duration getTimeout() {
+        return timeout;
+    }
+    
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+    
+    public DataSize getMaxFileSize() {
+        return maxFileSize;
+    }
+    
+    public void setMaxFileSize(DataSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+    
+    public DataSize getMmapThreshold() {
+        return mmapThreshold;
+    }
+    
+    public void setMmapThreshold(DataSize mmapThreshold) {
+        this.mmapThreshold = mmapThreshold;
+    }
+    
+    public List<String> getExcludedDirectories() {
+        return excludedDirectories;
+    }
+    
+    public void setExcludedDirectories(List<String> excludedDirectories) {
+        this.excludedDirectories = excludedDirectories;
+    }
+}
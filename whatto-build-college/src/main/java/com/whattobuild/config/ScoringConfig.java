@@ -0,0 +1,53 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "scoring")
+public class ScoringConfig {
+    
+    // Worker threads in the dedicated scoring pool; 0 means one per available core
+    private int parallelism = 0;
+    
+    // Candidate count at which scoring switches from the request thread to the pool
+    private int parallelThreshold = 20000;
+    
+    // Candidates scored per fork/join leaf task
+    private int chunkSize = 4096;
+    
+    // Derive the diversity jitter from (profile, project, catalog version) instead of a random draw
+    private boolean deterministic = true;
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+    
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+    
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+    
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+}
@@ -0,0 +1,94 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "semantic")
+public class SemanticMatchConfig {
+    
+    private boolean enabled = true;
+    
+    // Hashed feature space; 256 floats per project keeps 100k projects near 100MB
+    private int dimensions = 256;
+    
+    // HNSW graph degree and build/search beam widths; higher trades speed for recall
+    private int hnswM = 16;
+    
+    private int efConstruction = 100;
+    
+    private int efSearch = 64;
+    
+    // Nearest projects fetched per student, added to the skill-postings candidates
+    private int neighbors = 50;
+    
+    // Neighbours below this cosine similarity are ignored
+    private double minSimilarity = 0.15;
+    
+    // Scale applied to cosine similarity before it competes with skill overlap; 0 disables blending
+    private double weight = 1.0;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getDimensions() {
+        return dimensions;
+    }
+    
+    public void setDimensions(int dimensions) {
+        this.dimensions = dimensions;
+    }
+    
+    public int getHnswM() {
+        return hnswM;
+    }
+    
+    public void setHnswM(int hnswM) {
+        this.hnswM = hnswM;
+    }
+    
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+    
+    public void setEfConstruction(int efConstruction) {
+        this.efConstruction = efConstruction;
+    }
+    
+    public int getEfSearch() {
+        return efSearch;
+    }
+    
+    public void setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+    }
+    
+    public int getNeighbors() {
+        return neighbors;
+    }
+    
+    public void setNeighbors(int neighbors) {
+        this.neighbors = neighbors;
+    }
+    
+    public double getMinSimilarity() {
+        return minSimilarity;
+    }
+    
+    public void setMinSimilarity(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+    
+    public double getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(double weight) {
+        this.weight = weight;
+    }
+}
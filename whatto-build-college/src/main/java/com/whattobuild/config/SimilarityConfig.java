@@ -0,0 +1,52 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "similarity")
+public class SimilarityConfig {
+    
+    // MinHash signature length; split into bands of numHashes / bands rows each
+    private int numHashes = 64;
+    
+    // 16 bands of 4 rows: pairs with Jaccard ~0.5 collide in some band with about 64% probability, ~0.8 with over 99%
+    private int bands = 16;
+    
+    // Candidates re-ranked per query, so one crowded bucket can't turn a lookup into a scan
+    private int maxCandidates = 5000;
+    
+    private int defaultLimit = 10;
+    
+    public int getNumHashes() {
+        return numHashes;
+    }
+    
+    public void setNumHashes(int numHashes) {
+        this.numHashes = numHashes;
+    }
+    
+    public int getBands() {
+        return bands;
+    }
+    
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+    
+    public int getMaxCandidates() {
+        return maxCandidates;
+    }
+    
+    public void setMaxCandidates(int maxCandidates) {
+        this.maxCandidates = maxCandidates;
+    }
+    
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+    
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+}
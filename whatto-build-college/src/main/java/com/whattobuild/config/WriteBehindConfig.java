@@ -0,0 +1,118 @@
+package com.whattobuild.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "write-behind")
+public class WriteBehindConfig {
+    
+    // Off: every write goes straight to the database on the request thread
+    private boolean enabled = true;
+    
+    // Queued rows; when full, producers wait up to offer-timeout and the write is then shed
+    private int capacity = 10000;
+    
+    private Duration offerTimeout = Duration.ofMillis(50);
+    
+    // Rows per writer transaction; the writer also flushes whatever is queued every flush-interval
+    private int batchSize = 500;
+    
+    private Duration flushInterval = Duration.ofMillis(200);
+    
+    // Attempts per batch before its rows are counted as failed
+    private int maxAttempts = 3;
+    
+    // How long shutdown waits for the queue to drain
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    
+    // Append-only journal of queued rows, replayed on the next start after a crash
+    private boolean journalEnabled = false;
+    
+    private String journalPath = "data/write-behind.jsonl";
+    
+    // Threads that assign ids to LLM results and queue them, off the LLM client threads
+    private int persistThreads = 4;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    public Duration getOfferTimeout() {
+        return offerTimeout;
+    }
+    
+    public void setOfferTimeout(Duration offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+    
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+    
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+    
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+    
+    public boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+    
+    public void setJournalEnabled(boolean journalEnabled) {
+        this.journalEnabled = journalEnabled;
+    }
+    
+    public String getJournalPath() {
+        return journalPath;
+    }
+    
+    public void setJournalPath(String journalPath) {
+        this.journalPath = journalPath;
+    }
+    
+    public int getPersistThreads() {
+        return persistThreads;
+    }
+    
+    public void setPersistThreads(int persistThreads) {
+        this.persistThreads = persistThreads;
+    }
+}
@@ -3,6 +3,8 @@ package com.whattobuild.controller;
 import com.whattobuild.model.Project;
 import com.whattobuild.repository.ProjectRepository;
 import com.whattobuild.repository.UserRepository;
+import com.whattobuild.service.ProjectSkillIndex;
+import com.whattobuild.service.ProjectVectorIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -21,6 +23,12 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ProjectSkillIndex projectSkillIndex;
+    
+    @Autowired
+    private ProjectVectorIndex projectVectorIndex;
+    
     @GetMapping
     public String adminDashboard(Model model) {
         model.addAttribute("totalProjects", projectRepository.count());
@@ -46,7 +54,9 @@ public class AdminController {
     public String saveProject(@ModelAttribute Project project) {
         project.setCreatedAt(LocalDateTime.now());
         project.setStatus(Project.Status.AVAILABLE);
-        projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectSkillIndex.invalidate();
+        projectVectorIndex.upsert(saved);
         return "redirect:/admin/projects";
     }
     
@@ -60,6 +70,8 @@ public class AdminController {
     @PostMapping("/projects/{id}/delete")
     public String deleteProject(@PathVariable Long id) {
         projectRepository.deleteById(id);
+        projectSkillIndex.invalidate();
+        projectVectorIndex.remove(id);
         return "redirect:/admin/projects";
     }
     
@@ -1,21 +1,31 @@
 package com.whattobuild.controller;
 
-import com.whattobuild.model.Comparison;
+import com.whattobuild.config.SimilarityConfig;
+import com.whattobuild.dto.RecommendResponse;
+import com.whattobuild.dto.RecommendationDetails;
 import com.whattobuild.model.Progress;
 import com.whattobuild.model.Project;
 import com.whattobuild.model.Recommendation;
 import com.whattobuild.repository.ProjectRepository;
 import com.whattobuild.repository.UserRepository;
+import com.whattobuild.service.AIService;
+import com.whattobuild.service.ComparisonService;
 import com.whattobuild.service.DashboardService;
 import com.whattobuild.service.RecommendService;
+import com.whattobuild.service.RecommendationDetailsService;
+import com.whattobuild.service.StudentSimilarityIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
@@ -25,37 +35,91 @@ public class ApiController {
     @Autowired
     private RecommendService recommendService;
     
+    @Autowired
+    private RecommendationDetailsService recommendationDetailsService;
+    
     @Autowired
     private DashboardService dashboardService;
     
+    @Autowired
+    private ComparisonService comparisonService;
+    
+    @Autowired
+    private SimilarityConfig similarityConfig;
+    
     @Autowired
     private ProjectRepository projectRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    private static final long SSE_TIMEOUT_MILLIS = 120_000;
+    
+    // Async so the servlet thread is released while an LLM call is outstanding
     @PostMapping("/recommend")
-    public ResponseEntity<Map<String, Object>> getRecommendations(@RequestBody Map<String, Object> request) {
+    public CompletableFuture<ResponseEntity<RecommendResponse>> getRecommendations(@RequestBody Map<String, Object> request) {
         try {
             Long studentId = Long.valueOf(request.get("studentId").toString());
             String branch = request.get("branch").toString();
             @SuppressWarnings("unchecked")
             List<String> skills = (List<String>) request.get("skills");
+            int limit = request.get("limit") != null ? Integer.parseInt(request.get("limit").toString()) : AIService.NO_LIMIT;
             
-            List<Map<String, Object>> recommendations = recommendService.generateRecommendations(studentId, branch, skills);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("recommendations", recommendations);
-            response.put("count", recommendations.size());
+            return recommendService.generateRecommendations(studentId, branch, skills, limit)
+                    .thenApply(recommendations -> ResponseEntity.ok(new RecommendResponse(true, recommendations, recommendations.size())))
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        return ResponseEntity.badRequest().body(new RecommendResponse(false, cause.getMessage()));
+                    });
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new RecommendResponse(false, e.getMessage())));
+        }
+    }
+    
+    // Server-Sent Events: "recommendations" with the local ranking right away, then one
+    // "refinement" per project as the model writes it, then "done" (or "error")
+    @PostMapping(value = "/recommend/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecommendations(@RequestBody Map<String, Object> request) {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        try {
+            Long studentId = Long.valueOf(request.get("studentId").toString());
+            String branch = request.get("branch").toString();
+            @SuppressWarnings("unchecked")
+            List<String> skills = (List<String>) request.get("skills");
+            int limit = request.get("limit") != null ? Integer.parseInt(request.get("limit").toString()) : AIService.NO_LIMIT;
             
-            return ResponseEntity.ok(response);
+            recommendService.streamRecommendations(studentId, branch, skills, limit,
+                            local -> send(emitter, "recommendations", new RecommendResponse(true, local, local.size())),
+                            refinement -> send(emitter, "refinement", refinement))
+                    .whenComplete((v, e) -> {
+                        if (e != null) {
+                            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                            send(emitter, "error", Map.of("success", false, "error", String.valueOf(cause.getMessage())));
+                        }
+                        send(emitter, "done", Map.of("success", e == null));
+                        emitter.complete();
+                    });
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
+            send(emitter, "error", Map.of("success", false, "error", String.valueOf(e.getMessage())));
+            emitter.complete();
         }
+        return emitter;
+    }
+    
+    private void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the remaining events have nowhere to go
+        }
+    }
+    
+    // Reasoning, resume points and learning plan for one recommendation, rendered on first request
+    @GetMapping("/recommendations/{id}/details")
+    public ResponseEntity<RecommendationDetails> getRecommendationDetails(@PathVariable Long id) {
+        return recommendationDetailsService.getDetails(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping("/analyze")
@@ -113,21 +177,7 @@ public class ApiController {
             Long student1Id = Long.valueOf(request.get("student1Id").toString());
             Long student2Id = Long.valueOf(request.get("student2Id").toString());
             
-            // Mock comparison - in real app, get from UserRepository
-            Map<String, Object> comparison = new HashMap<>();
-            comparison.put("student1", "Student " + student1Id);
-            comparison.put("student2", "Student " + student2Id);
-            comparison.put("similarityScore", 0.75);
-            comparison.put("commonSkills", List.of("Java", "Spring Boot"));
-            comparison.put("collaborationPotential", "High");
-            
-            // Save comparison to database
-            Comparison comparisonEntity = new Comparison();
-            comparisonEntity.setStudent1(student1Id);
-            comparisonEntity.setStudent2(student2Id);
-            comparisonEntity.setResultsJson(comparison.toString());
-            comparisonEntity.setSimilarityScore(0.75);
-            comparisonEntity.setCreatedAt(LocalDateTime.now());
+            Map<String, Object> comparison = comparisonService.compare(student1Id, student2Id);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -142,6 +192,46 @@ public class ApiController {
         }
     }
     
+    @GetMapping("/students/{id}/similar")
+    public ResponseEntity<Map<String, Object>> getSimilarStudents(@PathVariable Long id,
+                                                                  @RequestParam(required = false) Integer limit) {
+        try {
+            List<StudentSimilarityIndex.Match> students = comparisonService.findSimilarStudents(id,
+                    limit != null ? limit : similarityConfig.getDefaultLimit());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("students", students);
+            response.put("count", students.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
+    @GetMapping("/students/{id}/collaborators")
+    public ResponseEntity<Map<String, Object>> getTopCollaborators(@PathVariable Long id) {
+        try {
+            List<Map<String, Object>> collaborators = comparisonService.findTopCollaborators(id);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("collaborators", collaborators);
+            response.put("count", collaborators.size());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+    
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboard() {
         try {
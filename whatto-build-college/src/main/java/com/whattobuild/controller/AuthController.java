@@ -7,6 +7,7 @@ import com.whattobuild.dto.SignUpRequest;
 import com.whattobuild.model.User;
 import com.whattobuild.repository.UserRepository;
 import com.whattobuild.security.JwtTokenProvider;
+import com.whattobuild.service.StudentSimilarityIndex;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -34,6 +35,9 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StudentSimilarityIndex studentSimilarityIndex;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -89,6 +93,7 @@ public class AuthController {
         user.setCreatedAt(LocalDateTime.now());
 
         User result = userRepository.save(user);
+        studentSimilarityIndex.update(result);
 
         URI location = ServletUriComponentsBuilder
             .fromCurrentContextPath().path("/api/users/{id}")
@@ -0,0 +1,342 @@
+package com.whattobuild.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.MockAIConfig;
+import com.whattobuild.service.PromptBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the OpenAI chat completions API, plus a Gemini
+ * generateContent endpoint, active in the dev profile only. Answers with
+ * realistic completions (and {@code stream: true} chunks) built from the
+ * projects offered in the prompt, after a log-normal latency, and injects
+ * 500/429/hung responses at the configured rates. Lets the real HTTP clients,
+ * timeouts, router, circuit breaker and fallbacks be load-tested without the
+ * network. Responses are scheduled, never slept on, so the mock itself is not
+ * the throughput bottleneck.
+ */
+@RestController
+@RequestMapping("/api/mock-ai")
+@Profile("dev")
+public class MockAIController {
+    
+    private static final Pattern PROJECT_LINE = Pattern.compile("^(\\d+)\\. (.+)$");
+    
+    private static final Pattern STUDENT_LINE = Pattern.compile("^(S\\d+):$");
+    
+    // 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+    
+    private static final int MAX_RECOMMENDATIONS = 5;
+    
+    @Autowired
+    private MockAIConfig mockConfig;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ScheduledExecutorService scheduler;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(Math.max(1, mockConfig.getThreads()), r -> {
+            Thread thread = new Thread(r, "mock-ai-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    // Object so one endpoint can answer with a JSON body, an SSE stream or an error status, like the real API
+    @PostMapping("/chat/completions")
+    public Object chatCompletions(@RequestBody Map<String, Object> request) {
+        String model = String.valueOf(request.getOrDefault("model", "mock-gpt"));
+        String prompt = userPrompt(request);
+        String content = completionContent(prompt);
+        long latencyMillis = sampleLatencyMillis();
+        
+        CompletableFuture<ResponseEntity<Map<String, Object>>> fault = injectedFault(latencyMillis);
+        if (fault != null) return fault;
+        
+        if (Boolean.TRUE.equals(request.get("stream"))) {
+            return stream(model, content, latencyMillis);
+        }
+        
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+        
+        Map<String, Object> response = envelope(model, "chat.completion");
+        response.put("choices", List.of(choice));
+        response.put("usage", usage(request, content));
+        return delayed(latencyMillis, ResponseEntity.ok(response));
+    }
+    
+    // Gemini generateContent stand-in, so the LLM router has a second local provider to hedge to
+    @PostMapping("/models/{model}:generateContent")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> generateContent(@PathVariable String model,
+                                                                                   @RequestBody Map<String, Object> request) {
+        StringBuilder prompt = new StringBuilder();
+        if (request.get("contents") instanceof List<?> contents) {
+            for (Object content : contents) {
+                if (content instanceof Map<?, ?> c && "user".equals(c.get("role")) && c.get("parts") instanceof List<?> parts) {
+                    for (Object part : parts) {
+                        if (part instanceof Map<?, ?> p && p.get("text") instanceof String text) prompt.append(text);
+                    }
+                }
+            }
+        }
+        String content = completionContent(prompt.toString());
+        long latencyMillis = sampleLatencyMillis();
+        
+        CompletableFuture<ResponseEntity<Map<String, Object>>> fault = injectedFault(latencyMillis);
+        if (fault != null) return fault;
+        
+        Map<String, Object> candidate = new LinkedHashMap<>();
+        candidate.put("content", Map.of("role", "model", "parts", List.of(Map.of("text", content))));
+        candidate.put("finishReason", "STOP");
+        candidate.put("index", 0);
+        
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("promptTokenCount", PromptBuilder.estimateTokens(prompt));
+        usage.put("candidatesTokenCount", PromptBuilder.estimateTokens(content));
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("candidates", List.of(candidate));
+        response.put("usageMetadata", usage);
+        response.put("modelVersion", model);
+        return delayed(latencyMillis, ResponseEntity.ok(response));
+    }
+    
+    // Null when this request should be answered normally
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> injectedFault(long latencyMillis) {
+        double fault = ThreadLocalRandom.current().nextDouble();
+        if (fault < mockConfig.getErrorRate()) {
+            return delayed(latencyMillis, error(HttpStatus.INTERNAL_SERVER_ERROR, "server_error", "Injected server error"));
+        }
+        fault -= mockConfig.getErrorRate();
+        if (fault < mockConfig.getRateLimitRate()) {
+            return delayed(latencyMillis, error(HttpStatus.TOO_MANY_REQUESTS, "rate_limit_exceeded", "Injected rate limit"));
+        }
+        fault -= mockConfig.getRateLimitRate();
+        if (fault < mockConfig.getHangRate()) {
+            // The servlet container's async timeout may answer first; either way the caller sees a hung call
+            return delayed(mockConfig.getHangDuration().toMillis(),
+                    error(HttpStatus.GATEWAY_TIMEOUT, "timeout", "Injected hang"));
+        }
+        return null;
+    }
+    
+    private SseEmitter stream(String model, String content, long firstChunkMillis) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Map<String, Object> envelope = envelope(model, "chat.completion.chunk");
+        
+        List<String> pieces = new ArrayList<>();
+        int chunkChars = Math.max(1, mockConfig.getChunkChars());
+        for (int i = 0; i < content.length(); i += chunkChars) {
+            pieces.add(content.substring(i, Math.min(content.length(), i + chunkChars)));
+        }
+        
+        scheduler.schedule(() -> sendChunk(emitter, envelope, pieces, 0), firstChunkMillis, TimeUnit.MILLISECONDS);
+        return emitter;
+    }
+    
+    // Sends one chunk, then schedules the next; the final chunk carries finish_reason and is followed by [DONE]
+    private void sendChunk(SseEmitter emitter, Map<String, Object> envelope, List<String> pieces, int index) {
+        try {
+            Map<String, Object> delta = new LinkedHashMap<>();
+            if (index == 0) delta.put("role", "assistant");
+            if (index < pieces.size()) delta.put("content", pieces.get(index));
+            
+            Map<String, Object> choice = new LinkedHashMap<>();
+            choice.put("index", 0);
+            choice.put("delta", delta);
+            choice.put("finish_reason", index < pieces.size() ? null : "stop");
+            
+            Map<String, Object> chunk = new LinkedHashMap<>(envelope);
+            chunk.put("choices", List.of(choice));
+            emitter.send(SseEmitter.event().data(objectMapper.writeValueAsString(chunk)));
+            
+            if (index < pieces.size()) {
+                scheduler.schedule(() -> sendChunk(emitter, envelope, pieces, index + 1),
+                        mockConfig.getChunkDelay().toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                emitter.send(SseEmitter.event().data("[DONE]"));
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client hung up; stop streaming
+            emitter.completeWithError(e);
+        }
+    }
+    
+    private <T> CompletableFuture<T> delayed(long millis, T value) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS, scheduler));
+    }
+    
+    // Log-normal fitted to the configured median and p99
+    private long sampleLatencyMillis() {
+        double median = Math.max(1, mockConfig.getLatencyMedian().toMillis());
+        double p99 = Math.max(median, mockConfig.getLatencyP99().toMillis());
+        double sigma = Math.log(p99 / median) / Z_99;
+        double sample = median * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Math.min((long) sample, mockConfig.getHangDuration().toMillis());
+    }
+    
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String type, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("type", type);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(Map.of("error", error));
+    }
+    
+    private static Map<String, Object> envelope(String model, String object) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("id", "chatcmpl-mock-" + UUID.randomUUID());
+        envelope.put("object", object);
+        envelope.put("created", System.currentTimeMillis() / 1000);
+        envelope.put("model", model);
+        return envelope;
+    }
+    
+    private static Map<String, Object> usage(Map<String, Object> request, String content) {
+        int promptTokens = 0;
+        if (request.get("messages") instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Map<?, ?> m) {
+                    promptTokens += PromptBuilder.estimateTokens(String.valueOf(m.get("content")));
+                }
+            }
+        }
+        int completionTokens = PromptBuilder.estimateTokens(content);
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return usage;
+    }
+    
+    private static String userPrompt(Map<String, Object> request) {
+        String prompt = "";
+        if (request.get("messages") instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Map<?, ?> m && "user".equals(m.get("role"))) {
+                    prompt = String.valueOf(m.get("content"));
+                }
+            }
+        }
+        return prompt;
+    }
+    
+    // Answers in whichever format the prompt asks for: JSON keyed by project name, or one line per project
+    private String completionContent(String prompt) {
+        List<String> projects = offeredProjects(prompt);
+        if (prompt.contains("\nStudents:\n")) {
+            return batchContent(prompt, projects);
+        }
+        String skills = profileField(prompt, "- Skills: ");
+        String branch = profileField(prompt, "- Branch: ");
+        boolean json = prompt.contains("Format as JSON");
+        
+        Map<String, Object> byName = new LinkedHashMap<>();
+        StringBuilder lines = new StringBuilder();
+        int score = 90 + ThreadLocalRandom.current().nextInt(8);
+        for (int i = 0; i < Math.min(MAX_RECOMMENDATIONS, projects.size()); i++) {
+            String name = projects.get(i);
+            String reasoning = "A strong fit for a " + (branch.isEmpty() ? "student" : branch + " student")
+                    + (skills.isEmpty() ? "" : " who knows " + skills)
+                    + "; it builds on existing strengths and adds one or two new tools.";
+            if (json) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("matchScore", score);
+                entry.put("reasoning", reasoning);
+                entry.put("resumePoints", List.of("Designed and shipped " + name, "Wrote tests and documentation"));
+                entry.put("learningPlan", List.of("Week 1: scope and setup", "Week 2-3: core features", "Week 4: polish and deploy"));
+                byName.put(name, entry);
+            } else {
+                lines.append(i + 1).append(". ").append(name).append(" | ").append(score).append(" | ").append(reasoning).append('\n');
+            }
+            score -= 3 + ThreadLocalRandom.current().nextInt(6);
+        }
+        
+        if (!json) return lines.toString();
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(byName);
+        } catch (IOException e) {
+            return "{}";
+        }
+    }
+    
+    // One "### S<n>" section per student, ranking that student's candidate numbers
+    private static String batchContent(String prompt, List<String> projects) {
+        StringBuilder out = new StringBuilder();
+        String label = null;
+        for (String line : prompt.substring(prompt.indexOf("\nStudents:\n")).split("\n")) {
+            Matcher student = STUDENT_LINE.matcher(line);
+            if (student.matches()) {
+                label = student.group(1);
+            } else if (label != null && line.startsWith("- Candidate projects: ")) {
+                out.append("### ").append(label).append('\n');
+                String[] numbers = line.substring("- Candidate projects: ".length()).split(",\\s*");
+                int score = 90 + ThreadLocalRandom.current().nextInt(8);
+                for (int i = 0; i < Math.min(MAX_RECOMMENDATIONS, numbers.length); i++) {
+                    int number = Integer.parseInt(numbers[i].trim());
+                    if (number < 1 || number > projects.size()) continue;
+                    out.append(number).append(". ").append(projects.get(number - 1)).append(" | ").append(score)
+                            .append(" | Matches this student's skills and stretches them a little further.\n");
+                    score -= 3 + ThreadLocalRandom.current().nextInt(6);
+                }
+                label = null;
+            }
+        }
+        return out.toString();
+    }
+    
+    // Numbered lines between "Available Projects:" and the instructions or student list (see PromptBuilder)
+    private static List<String> offeredProjects(String prompt) {
+        List<String> projects = new ArrayList<>();
+        int start = prompt.indexOf("Available Projects:");
+        if (start < 0) return projects;
+        
+        for (String line : prompt.substring(start).split("\n")) {
+            if (line.startsWith("Please") || line.startsWith("Students:")) break;
+            Matcher matcher = PROJECT_LINE.matcher(line);
+            if (matcher.matches()) {
+                projects.add(matcher.group(2).trim());
+            }
+        }
+        return projects;
+    }
+    
+    private static String profileField(String prompt, String label) {
+        for (String line : prompt.split("\n")) {
+            if (line.startsWith(label)) return line.substring(label.length()).trim();
+        }
+        return "";
+    }
+}
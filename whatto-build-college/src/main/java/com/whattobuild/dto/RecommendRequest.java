@@ -6,6 +6,7 @@ public class RecommendRequest {
     private Long studentId;
     private String branch;
     private List<String> skills;
+    private Integer limit;
     
     public RecommendRequest() {}
     
@@ -38,4 +39,12 @@ public class RecommendRequest {
     public void setSkills(List<String> skills) {
         this.skills = skills;
     }
+    
+    public Integer getLimit() {
+        return limit;
+    }
+    
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
 }
@@ -1,18 +1,19 @@
 package com.whattobuild.dto;
 
-import com.whattobuild.model.Project;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
-import java.util.Map;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RecommendResponse {
     private boolean success;
-    private List<Map<String, Object>> recommendations;
+    private List<RecommendationResult> recommendations;
     private int count;
     private String error;
     
     public RecommendResponse() {}
     
-    public RecommendResponse(boolean success, List<Map<String, Object>> recommendations, int count) {
+    public RecommendResponse(boolean success, List<RecommendationResult> recommendations, int count) {
         this.success = success;
         this.recommendations = recommendations;
         this.count = count;
@@ -31,11 +32,11 @@ public class RecommendResponse {
         this.success = success;
     }
     
-    public List<Map<String, Object>> getRecommendations() {
+    public List<RecommendationResult> getRecommendations() {
         return recommendations;
     }
     
-    public void setRecommendations(List<Map<String, Object>> recommendations) {
+    public void setRecommendations(List<RecommendationResult> recommendations) {
         this.recommendations = recommendations;
     }
     
@@ -0,0 +1,55 @@
+package com.whattobuild.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Text for one persisted recommendation, rendered on demand
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationDetails {
+    
+    private final Long id;
+    private final Long projectId;
+    private final String projectName;
+    private final Double matchScore;
+    private final String reasoning;
+    private final String resumePoints;
+    private final String learningPlan;
+    
+    public RecommendationDetails(Long id, Long projectId, String projectName, Double matchScore,
+                                 String reasoning, String resumePoints, String learningPlan) {
+        this.id = id;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.matchScore = matchScore;
+        this.reasoning = reasoning;
+        this.resumePoints = resumePoints;
+        this.learningPlan = learningPlan;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getProjectId() {
+        return projectId;
+    }
+    
+    public String getProjectName() {
+        return projectName;
+    }
+    
+    public Double getMatchScore() {
+        return matchScore;
+    }
+    
+    public String getReasoning() {
+        return reasoning;
+    }
+    
+    public String getResumePoints() {
+        return resumePoints;
+    }
+    
+    public String getLearningPlan() {
+        return learningPlan;
+    }
+}
@@ -0,0 +1,37 @@
+package com.whattobuild.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.whattobuild.model.Project;
+
+// LLM-refined reasoning for one locally ranked project, streamed as it is produced
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationRefinement {
+    
+    private final Long projectId;
+    private final String projectName;
+    private final Double matchScore;
+    private final String reasoning;
+    
+    public RecommendationRefinement(Project project, Double matchScore, String reasoning) {
+        this.projectId = project.getId();
+        this.projectName = project.getName();
+        this.matchScore = matchScore;
+        this.reasoning = reasoning;
+    }
+    
+    public Long getProjectId() {
+        return projectId;
+    }
+    
+    public String getProjectName() {
+        return projectName;
+    }
+    
+    public Double getMatchScore() {
+        return matchScore;
+    }
+    
+    public String getReasoning() {
+        return reasoning;
+    }
+}
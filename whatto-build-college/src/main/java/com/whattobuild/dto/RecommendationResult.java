@@ -0,0 +1,132 @@
+package com.whattobuild.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.whattobuild.model.Project;
+
+import java.util.function.Supplier;
+
+/**
+ * One ranked project recommendation. Text fields are rendered on first access
+ * and then memoized, so callers that only need the score never pay for them.
+ * Once persisted, a copy carries the recommendation id; with details deferred
+ * its template text is left out of the JSON and served by
+ * /api/recommendations/{id}/details instead.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "project", "matchScore", "reasoning", "resumePoints", "learningPlan"})
+public final class RecommendationResult {
+
+    private final Long id;
+    private final Project project;
+    private final double matchScore;
+    private final LazyText reasoning;
+    private final LazyText resumePoints;
+    private final LazyText learningPlan;
+    private final boolean authoredReasoning;
+    private final boolean fallback;
+    private final boolean detailsDeferred;
+
+    public RecommendationResult(Project project, double matchScore,
+                                Supplier<String> reasoning,
+                                Supplier<String> resumePoints,
+                                Supplier<String> learningPlan) {
+        this(null, project, matchScore, new LazyText(reasoning), new LazyText(resumePoints), new LazyText(learningPlan),
+                false, false, false);
+    }
+
+    // Reasoning written by the model rather than a template; it can't be re-rendered later, so it is always kept
+    public RecommendationResult(Project project, double matchScore, String reasoning,
+                                Supplier<String> resumePoints,
+                                Supplier<String> learningPlan) {
+        this(null, project, matchScore, new LazyText(reasoning), new LazyText(resumePoints), new LazyText(learningPlan),
+                true, false, false);
+    }
+
+    private RecommendationResult(Long id, Project project, double matchScore, LazyText reasoning,
+                                 LazyText resumePoints, LazyText learningPlan,
+                                 boolean authoredReasoning, boolean fallback, boolean detailsDeferred) {
+        this.id = id;
+        this.project = project;
+        this.matchScore = matchScore;
+        this.reasoning = reasoning;
+        this.resumePoints = resumePoints;
+        this.learningPlan = learningPlan;
+        this.authoredReasoning = authoredReasoning;
+        this.fallback = fallback;
+        this.detailsDeferred = detailsDeferred;
+    }
+
+    // Same recommendation, marked as standing in for an LLM answer that failed or missed its SLO
+    public RecommendationResult asFallback() {
+        return new RecommendationResult(id, project, matchScore, reasoning, resumePoints, learningPlan,
+                authoredReasoning, true, detailsDeferred);
+    }
+
+    // Same recommendation as persisted for one student
+    public RecommendationResult persistedAs(Long recommendationId, boolean deferDetails) {
+        return new RecommendationResult(recommendationId, project, matchScore, reasoning, resumePoints, learningPlan,
+                authoredReasoning, fallback, deferDetails);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    public double getMatchScore() {
+        return matchScore;
+    }
+
+    // Null while details are deferred, unless the model wrote it
+    public String getReasoning() {
+        return detailsDeferred && !authoredReasoning ? null : reasoning.get();
+    }
+
+    public String getResumePoints() {
+        return detailsDeferred ? null : resumePoints.get();
+    }
+
+    public String getLearningPlan() {
+        return detailsDeferred ? null : learningPlan.get();
+    }
+
+    @JsonIgnore
+    public boolean hasAuthoredReasoning() {
+        return authoredReasoning;
+    }
+
+    @JsonIgnore
+    public boolean isFallback() {
+        return fallback;
+    }
+
+    private static final class LazyText {
+        private Supplier<String> supplier;
+        private volatile String value;
+
+        LazyText(Supplier<String> supplier) {
+            this.supplier = supplier;
+        }
+
+        LazyText(String value) {
+            this.value = value;
+        }
+
+        String get() {
+            String result = value;
+            if (result != null) return result;
+            synchronized (this) {
+                if (supplier != null) {
+                    value = supplier.get();
+                    supplier = null;
+                }
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.whattobuild.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+// Measurements from one scan of a local repository checkout
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RepositoryAnalysis {
+    
+    private String root;
+    private int files;
+    private int sourceFiles;
+    private long totalBytes;
+    private long codeLines;
+    private long commentLines;
+    private long blankLines;
+    // Branches and loops (if/for/while/case/catch, && and ||), a cheap cyclomatic complexity estimate
+    private long decisionPoints;
+    private int testFiles;
+    private long testCodeLines;
+    // Code lines per language, largest first
+    private Map<String, Long> languages;
+    private List<String> frameworks;
+    private List<String> buildFiles;
+    // Source files over the per-file size limit, counted but not read
+    private int skippedFiles;
+    // Set when a per-repository limit stopped the scan early
+    private boolean truncated;
+    private String truncationReason;
+    private long elapsedMillis;
+    // Cache effectiveness for this run: whole-tree reuse, files read from disk, files measured afresh
+    private boolean treeCacheHit;
+    private int filesRead;
+    private int filesMeasured;
+    private double fileCacheHitRatio;
+    
+    public String getRoot() {
+        return root;
+    }
+    
+    public void setRoot(String root) {
+        this.root = root;
+    }
+    
+    public int getFiles() {
+        return files;
+    }
+    
+    public void setFiles(int files) {
+        this.files = files;
+    }
+    
+    public int getSourceFiles() {
+        return sourceFiles;
+    }
+    
+    public void setSourceFiles(int sourceFiles) {
+        this.sourceFiles = sourceFiles;
+    }
+    
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+    
+    public long getCodeLines() {
+        return codeLines;
+    }
+    
+    public void setCodeLines(long codeLines) {
+        this.codeLines = codeLines;
+    }
+    
+    public long getCommentLines() {
+        return commentLines;
+    }
+    
+    public void setCommentLines(long commentLines) {
+        this.commentLines = commentLines;
+    }
+    
+    public long getBlankLines() {
+        return blankLines;
+    }
+    
+    public void setBlankLines(long blankLines) {
+        this.blankLines = blankLines;
+    }
+    
+    public long getDecisionPoints() {
+        return decisionPoints;
+    }
+    
+    public void setDecisionPoints(long decisionPoints) {
+        this.decisionPoints = decisionPoints;
+    }
+    
+    public int getTestFiles() {
+        return testFiles;
+    }
+    
+    public void setTestFiles(int testFiles) {
+        this.testFiles = testFiles;
+    }
+    
+    public long getTestCodeLines() {
+        return testCodeLines;
+    }
+    
+    public void setTestCodeLines(long testCodeLines) {
+        this.testCodeLines = testCodeLines;
+    }
+    
+    public Map<String, Long> getLanguages() {
+        return languages;
+    }
+    
+    public void setLanguages(Map<String, Long> languages) {
+        this.languages = languages;
+    }
+    
+    public List<String> getFrameworks() {
+        return frameworks;
+    }
+    
+    public void setFrameworks(List<String> frameworks) {
+        this.frameworks = frameworks;
+    }
+    
+    public List<String> getBuildFiles() {
+        return buildFiles;
+    }
+    
+    public void setBuildFiles(List<String> buildFiles) {
+        this.buildFiles = buildFiles;
+    }
+    
+    public int getSkippedFiles() {
+        return skippedFiles;
+    }
+    
+    public void setSkippedFiles(int skippedFiles) {
+        this.skippedFiles = skippedFiles;
+    }
+    
+    public boolean isTruncated() {
+        return truncated;
+    }
+    
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+    
+    public String getTruncationReason() {
+        return truncationReason;
+    }
+    
+    public void setTruncationReason(String truncationReason) {
+        this.truncationReason = truncationReason;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public boolean isTreeCacheHit() {
+        return treeCacheHit;
+    }
+    
+    public void setTreeCacheHit(boolean treeCacheHit) {
+        this.treeCacheHit = treeCacheHit;
+    }
+    
+    public int getFilesRead() {
+        return filesRead;
+    }
+    
+    public void setFilesRead(int filesRead) {
+        this.filesRead = filesRead;
+    }
+    
+    public int getFilesMeasured() {
+        return filesMeasured;
+    }
+    
+    public void setFilesMeasured(int filesMeasured) {
+        this.filesMeasured = filesMeasured;
+    }
+    
+    public double getFileCacheHitRatio() {
+        return fileCacheHitRatio;
+    }
+    
+    public void setFileCacheHitRatio(double fileCacheHitRatio) {
+        this.fileCacheHitRatio = fileCacheHitRatio;
+    }
+}
@@ -0,0 +1,34 @@
+package com.whattobuild.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Progress of the top-collaborators job through one branch, committed with each chunk of results
+@Entity
+@Table(name = "collaborator_job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollaboratorJobCheckpoint {
+    
+    @Id
+    @Column(name = "branch", nullable = false)
+    private String branch;
+    
+    @Column(name = "run_id", nullable = false)
+    private String runId;
+    
+    // Students are processed in id order; everything up to this id is written
+    @Column(name = "last_student_id", nullable = false)
+    private Long lastStudentId = 0L;
+    
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
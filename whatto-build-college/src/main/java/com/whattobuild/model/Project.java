@@ -1,9 +1,12 @@
 package com.whattobuild.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -53,6 +56,13 @@ public class Project {
     @Column(name = "resume_points")
     private String resumePoints;
     
+    // Dictionary-encoded skills, filled in when the project is indexed
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private long[] skillBits;
+    
     public enum Difficulty {
         BEGINNER, INTERMEDIATE, ADVANCED, EXPERT
     }
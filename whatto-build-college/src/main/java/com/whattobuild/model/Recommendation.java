@@ -7,15 +7,23 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// One row per (student, project): a refresh updates the score in place, and rows not refreshed
+// for a while are expired and later purged by RecommendationExpiryJob
 @Entity
-@Table(name = "recommendations")
+@Table(name = "recommendations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_recommendations_student_project",
+                                             columnNames = {"student_id", "project_id"}),
+       indexes = @Index(name = "idx_recommendations_status_updated", columnList = "status, updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recommendation {
     
+    // Pooled ids (50 per round trip) instead of IDENTITY, so Hibernate can batch the inserts.
+    // On MySQL, which has no sequences, this is a one-row recommendation_seq table.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_seq")
+    @SequenceGenerator(name = "recommendation_seq", sequenceName = "recommendation_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "project_id", nullable = false)
@@ -43,6 +51,10 @@ public class Recommendation {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
+    // Last time the recommendation was generated for the student
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
     public enum Status {
         ACTIVE, ACCEPTED, REJECTED, EXPIRED
     }
@@ -0,0 +1,39 @@
+package com.whattobuild.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One precomputed top-K entry: peer_rank 1 is the student's most compatible peer
+@Entity
+@Table(name = "student_collaborators",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "peer_rank"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentCollaborator {
+    
+    // Pooled ids like Recommendation, so each chunk is written as batched inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_collaborator_seq")
+    @SequenceGenerator(name = "student_collaborator_seq", sequenceName = "student_collaborator_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "peer_rank", nullable = false)
+    private Integer rank;
+    
+    @Column(name = "peer_id", nullable = false)
+    private Long peerId;
+    
+    @Column(name = "similarity_score", nullable = false)
+    private Double similarityScore;
+    
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt = LocalDateTime.now();
+}
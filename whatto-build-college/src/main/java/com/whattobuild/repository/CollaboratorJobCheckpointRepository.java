@@ -0,0 +1,13 @@
+package com.whattobuild.repository;
+
+import com.whattobuild.model.CollaboratorJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CollaboratorJobCheckpointRepository extends JpaRepository<CollaboratorJobCheckpoint, String> {
+    
+    List<CollaboratorJobCheckpoint> findByCompletedFalse();
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,11 @@ public interface ComparisonRepository extends JpaRepository<Comparison, Long> {
     
     Optional<Comparison> findByStudent1AndStudent2(Long student1, Long student2);
     
+    // Every stored pair among these students; callers keep the pairs they asked for
+    @Query("SELECT c FROM Comparison c WHERE c.student1 IN :student1Ids AND c.student2 IN :student2Ids")
+    List<Comparison> findPairs(@Param("student1Ids") Collection<Long> student1Ids,
+                               @Param("student2Ids") Collection<Long> student2Ids);
+    
     @Query("SELECT c FROM Comparison c WHERE c.similarityScore >= :minScore ORDER BY c.similarityScore DESC")
     List<Comparison> findBySimilarityScoreGreaterThanEqual(@Param("minScore") Double minScore);
     
@@ -1,12 +1,16 @@
 package com.whattobuild.repository;
 
 import com.whattobuild.model.Recommendation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -29,5 +33,33 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
     
     @Query("SELECT COUNT(r) FROM Recommendation r WHERE r.studentId = :studentId AND r.status = 'ACCEPTED'")
     Long countAcceptedRecommendationsByStudent(@Param("studentId") Long studentId);
+    
+    // (id, studentId, projectId) of the stored rows among these students and projects
+    @Query("SELECT r.id, r.studentId, r.projectId FROM Recommendation r "
+            + "WHERE r.studentId IN :studentIds AND r.projectId IN :projectIds")
+    List<Object[]> findKeys(@Param("studentIds") Collection<Long> studentIds,
+                            @Param("projectIds") Collection<Long> projectIds);
+    
+    // (id, studentId, projectId) of every stored row
+    @Query("SELECT r.id, r.studentId, r.projectId FROM Recommendation r")
+    List<Object[]> findAllKeys();
+    
+    // Oldest first; served by the (status, updated_at) index
+    @Query("SELECT r.id FROM Recommendation r WHERE r.status = :status AND r.updatedAt < :before ORDER BY r.updatedAt")
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") Recommendation.Status status,
+                                            @Param("before") LocalDateTime before, Pageable page);
+    
+    // Re-checks the conditions, so a row refreshed since it was selected is left alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE Recommendation r SET r.status = :to WHERE r.id IN :ids AND r.status = :from AND r.updatedAt < :before")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Recommendation.Status from,
+                     @Param("to") Recommendation.Status to, @Param("before") LocalDateTime before);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Recommendation r WHERE r.id IN :ids AND r.status = :status AND r.updatedAt < :before")
+    int deleteByIds(@Param("ids") Collection<Long> ids, @Param("status") Recommendation.Status status,
+                    @Param("before") LocalDateTime before);
 }
 
@@ -0,0 +1,24 @@
+package com.whattobuild.repository;
+
+import com.whattobuild.model.StudentCollaborator;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StudentCollaboratorRepository extends JpaRepository<StudentCollaborator, Long> {
+    
+    List<StudentCollaborator> findByStudentIdOrderByRankAsc(Long studentId);
+    
+    Optional<StudentCollaborator> findByStudentIdAndPeerId(Long studentId, Long peerId);
+    
+    @Modifying
+    @Query("DELETE FROM StudentCollaborator c WHERE c.studentId IN :studentIds")
+    int deleteByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+}
@@ -1,6 +1,7 @@
 package com.whattobuild.repository;
 
 import com.whattobuild.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,5 +26,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findStudentsWithGithub();
     
     List<User> findByRole(User.Role role);
+    
+    // Skills fetched in the same query, for building in-memory indexes outside a transaction
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.skills WHERE u.role = 'STUDENT'")
+    List<User> findStudentsWithSkills();
+    
+    @Query("SELECT DISTINCT u.branch FROM User u WHERE u.role = 'STUDENT'")
+    List<String> findStudentBranches();
+    
+    // Keyset pagination: pass the last id of the previous page
+    @Query("SELECT u.id FROM User u WHERE u.role = 'STUDENT' AND u.branch = :branch AND u.id > :afterId ORDER BY u.id")
+    List<Long> findStudentIdsByBranchAfter(@Param("branch") String branch, @Param("afterId") Long afterId, Pageable page);
 }
 
@@ -1,14 +1,38 @@
 package com.whattobuild.service;
 
+import com.whattobuild.config.LlmBatchConfig;
+import com.whattobuild.config.LlmCircuitBreakerConfig;
 import com.whattobuild.config.OpenAIConfig;
+import com.whattobuild.config.PromptConfig;
+import com.whattobuild.config.ScoringConfig;
+import com.whattobuild.config.SemanticMatchConfig;
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.dto.RecommendationResult;
+import com.whattobuild.dto.RepositoryAnalysis;
 import com.whattobuild.model.Project;
 import com.whattobuild.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 public class AIService {
@@ -16,87 +40,500 @@ public class AIService {
     @Autowired
     private OpenAIConfig openAIConfig;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private OpenAIClient openAIClient;
+    
+    @Autowired
+    private LlmRouter llmRouter;
+    
+    @Autowired
+    private PromptBuilder promptBuilder;
+    
+    @Autowired
+    private LlmResponseCache llmResponseCache;
+    
+    @Autowired
+    private PromptConfig promptConfig;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private ScoringEngine scoringEngine;
+    
+    @Autowired
+    private ScoringConfig scoringConfig;
+    
+    @Autowired
+    private RecommendationTextRenderer textRenderer;
+    
+    @Autowired
+    private LlmCircuitBreaker circuitBreaker;
+    
+    @Autowired
+    private LlmCircuitBreakerConfig circuitBreakerConfig;
+    
+    @Autowired
+    private LlmBatchConfig batchConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private RepositoryAnalyzer repositoryAnalyzer;
+    
+    @Autowired
+    private AnalysisCache analysisCache;
+    
+    @Autowired
+    private StudentSimilarityIndex studentSimilarityIndex;
+    
+    @Autowired
+    private ProjectVectorIndex projectVectorIndex;
+    
+    @Autowired
+    private SemanticMatchConfig semanticConfig;
+    
+    private Counter sloFallbacks;
+    private DistributionSummary batchSizes;
+    
+    // Fires the latency SLO fallback; kept off the LLM client pool, which is busiest exactly when the SLO is missed
+    private ScheduledExecutorService sloScheduler;
+    
+    // Runs fallback scoring, so a brownout that fails every request at once queues them neither on the timer
+    // nor on the LLM client threads
+    private ExecutorService scoringExecutor;
+    
+    // Concurrent LLM recommendation requests share one multi-student prompt
+    private ScheduledExecutorService batchScheduler;
+    private MicroBatcher<BatchItem, List<RecommendationResult>> batcher;
+    
     private final Random random = new Random();
     
-    // Real AI recommendation service using OpenAI
-    public List<Map<String, Object>> recommendProjects(User user, List<Project> availableProjects) {
-        try {
-            // Check if we have a real OpenAI API key
-            if (openAIConfig.getApiKey() != null && 
-                !openAIConfig.getApiKey().equals("mock-key-for-development") &&
-                !openAIConfig.getApiKey().startsWith("your_")) {
-                
-                return getOpenAIRecommendations(user, availableProjects);
+    private static final Map<String, List<String>> BRANCH_SKILLS = Map.of(
+        "Computer Science", Arrays.asList("Java", "Python", "JavaScript", "React", "Spring Boot"),
+        "Information Technology", Arrays.asList("Java", "JavaScript", "HTML", "CSS", "MySQL"),
+        "Electronics", Arrays.asList("Python", "Arduino", "C++", "IoT"),
+        "Mechanical", Arrays.asList("Python", "MATLAB", "CAD", "Simulation")
+    );
+    
+    private static final List<String> DEFAULT_BRANCH_SKILLS = Arrays.asList("Java", "Python");
+    
+    // Branch skill lists encoded once against the skill dictionary
+    private final Map<String, long[]> branchMasks = new ConcurrentHashMap<>();
+    
+    // Passed as limit to return every project above the match threshold
+    public static final int NO_LIMIT = 0;
+    
+    private static final double MATCH_THRESHOLD = 0.3;
+    
+    @PostConstruct
+    public void init() {
+        sloFallbacks = Counter.builder("llm.slo.fallbacks")
+                .description("Recommendations answered by the local scorer because the LLM missed its latency SLO")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("llm.batch.students")
+                .description("Students per LLM recommendation call")
+                .register(meterRegistry);
+        batchScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "llm-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        batcher = new MicroBatcher<>(batchScheduler, batchConfig.getWindow().toMillis(),
+                batchConfig.getMaxStudents(), this::flushBatch);
+        sloScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "llm-slo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger scoringThreads = new AtomicInteger();
+        scoringExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "local-scoring-" + scoringThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        batchScheduler.shutdownNow();
+        sloScheduler.shutdownNow();
+        scoringExecutor.shutdownNow();
+    }
+    
+    // Real AI recommendation service, routed across the configured LLM providers. The future completes on the
+    // request thread for local scoring, on the scoring pool for fallbacks and on an LLM client thread otherwise.
+    public CompletableFuture<List<RecommendationResult>> recommendProjects(User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        skillBitsOf(user);
+        
+        // Check if any LLM provider has a real API key
+        if (llmRouter.isAvailable()) {
+            CompletableFuture<List<RecommendationResult>> result = new CompletableFuture<>();
+            getOpenAIRecommendations(user, catalog, limit).whenComplete((recommendations, error) -> {
+                if (error == null) {
+                    result.complete(limit > 0 && recommendations.size() > limit
+                            ? recommendations.subList(0, limit) : recommendations);
+                    return;
+                }
+                // Open circuit and full bulkhead are expected under load; don't log every request
+                if (!(unwrap(error) instanceof RejectedExecutionException)) {
+                    System.err.println("OpenAI API error, falling back to mock: " + error.getMessage());
+                }
+                // Scored off the LLM client's completion pool, which the next responses need
+                if (!result.isDone()) {
+                    result.completeAsync(() -> fallbackRecommendations(user, catalog, limit), scoringExecutor);
+                }
+            });
+            
+            // Past the SLO the local ranking answers; a late completion still lands in the response cache
+            if (!result.isDone()) {
+                ScheduledFuture<?> slo = sloScheduler.schedule(() -> {
+                    if (result.isDone()) return;
+                    sloFallbacks.increment();
+                    // The timer only triggers; scoring runs on the scoring pool
+                    result.completeAsync(() -> fallbackRecommendations(user, catalog, limit), scoringExecutor);
+                }, circuitBreakerConfig.getLatencySlo().toMillis(), TimeUnit.MILLISECONDS);
+                result.whenComplete((recommendations, error) -> slo.cancel(false));
             }
-        } catch (Exception e) {
-            System.err.println("OpenAI API error, falling back to mock: " + e.getMessage());
+            return result;
         }
         
         // Fallback to mock recommendations
-        return getMockRecommendations(user, availableProjects);
+        return CompletableFuture.completedFuture(getMockRecommendations(user, catalog, limit));
+    }
+    
+    // Local scorer only; cheap enough to answer on the request thread
+    public List<RecommendationResult> rankLocally(User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        skillBitsOf(user);
+        return getMockRecommendations(user, catalog, limit);
+    }
+    
+    /**
+     * Streams LLM reasoning for the locally shortlisted projects, one refinement per
+     * project as soon as the model finishes its line. Completes immediately unless
+     * OpenAI, the one streaming provider, is listed in llm.router.providers and has
+     * a key; callers should already have shown the local ranking.
+     */
+    public CompletableFuture<Void> streamRefinements(User user, ProjectSkillIndex.Snapshot catalog,
+                                                     Consumer<RecommendationRefinement> onRefinement) {
+        // Only OpenAI streams; it has to be opted in like any routed provider
+        if (!llmRouter.isEnabled(openAIClient)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        List<Project> shortlist = rankLocally(user, catalog, promptConfig.getMaxCandidates()).stream()
+                .map(RecommendationResult::getProject)
+                .toList();
+        if (shortlist.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        PromptBuilder.Prompt prompt = promptBuilder.buildForStreaming(user, shortlist);
+        StreamingCompletionParser parser = new StreamingCompletionParser(prompt.getProjects(), onRefinement);
+        
+        Map<String, Object> request = chatRequest(prompt.getText(), 2000);
+        
+        // With the circuit open the local ranking already shown is the answer
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return openAIClient.streamChatCompletion(request, parser::accept)
+                .whenComplete((v, error) -> recordOutcome(start, error))
+                .thenRun(parser::finish);
+    }
+    
+    private CompletableFuture<List<RecommendationResult>> getOpenAIRecommendations(User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        // Stage 1: the local scorer shortlists candidates so the prompt doesn't grow with the catalog
+        List<Project> shortlist = getMockRecommendations(user, catalog, promptConfig.getMaxCandidates()).stream()
+                .map(RecommendationResult::getProject)
+                .toList();
+        if (shortlist.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        
+        if (batchConfig.isEnabled()) {
+            return batcher.submit(new BatchItem(user, shortlist, catalog, limit));
+        }
+        return completeSingle(user, shortlist, catalog, limit);
+    }
+    
+    private CompletableFuture<List<RecommendationResult>> completeSingle(User user, List<Project> shortlist,
+                                                                        ProjectSkillIndex.Snapshot catalog, int limit) {
+        // Stage 2: fit the shortlist under the token budget
+        PromptBuilder.Prompt prompt = promptBuilder.build(user, shortlist);
+        
+        Map<String, Object> request = chatRequest(prompt.getText(), 2000);
+        
+        return complete(request)
+                .thenApply(response -> parseOpenAIResponse(response, prompt.getProjects(), user, catalog, limit));
+    }
+    
+    // A lone request keeps the single-student prompt (and its completion cache hits); larger
+    // batches share one prompt, and students that didn't fit its budget go round again
+    private void flushBatch(List<MicroBatcher.Entry<BatchItem, List<RecommendationResult>>> batch) {
+        if (batch.size() == 1) {
+            BatchItem item = batch.get(0).getItem();
+            batchSizes.record(1);
+            relay(completeSingle(item.user(), item.shortlist(), item.catalog(), item.limit()), batch.get(0).getFuture());
+            return;
+        }
+        
+        List<User> users = new ArrayList<>();
+        List<List<Project>> shortlists = new ArrayList<>();
+        for (MicroBatcher.Entry<BatchItem, List<RecommendationResult>> entry : batch) {
+            users.add(entry.getItem().user());
+            shortlists.add(entry.getItem().shortlist());
+        }
+        PromptBuilder.BatchPrompt prompt = promptBuilder.buildBatch(users, shortlists);
+        batchSizes.record(prompt.getStudents().size());
+        
+        Set<Integer> included = new HashSet<>(prompt.getStudents());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!included.contains(i)) {
+                relay(batcher.submit(batch.get(i).getItem()), batch.get(i).getFuture());
+            }
+        }
+        
+        Map<String, Object> request = chatRequest(prompt.getText(),
+                batchConfig.getMaxTokensPerStudent() * prompt.getStudents().size());
+        
+        complete(request).whenComplete((response, error) -> {
+            List<List<RecommendationRefinement>> sections = null;
+            if (error == null) {
+                try {
+                    sections = BatchCompletionParser.parse(completionText(response), prompt);
+                } catch (Exception e) {
+                    System.err.println("Error parsing batched OpenAI response: " + e.getMessage());
+                }
+            }
+            for (int k = 0; k < prompt.getStudents().size(); k++) {
+                MicroBatcher.Entry<BatchItem, List<RecommendationResult>> entry = batch.get(prompt.getStudents().get(k));
+                if (error != null) {
+                    entry.getFuture().completeExceptionally(error);
+                } else {
+                    entry.getFuture().complete(toRecommendations(sections != null ? sections.get(k) : List.of(), entry.getItem()));
+                }
+            }
+        });
     }
     
-    private List<Map<String, Object>> getOpenAIRecommendations(User user, List<Project> availableProjects) {
-        String prompt = buildRecommendationPrompt(user, availableProjects);
+    // Model-scored projects best first; like the single prompt, an unusable answer falls back to local scoring
+    private List<RecommendationResult> toRecommendations(List<RecommendationRefinement> refinements, BatchItem item) {
+        Map<Long, Project> byId = new HashMap<>();
+        for (Project project : item.shortlist()) {
+            byId.put(project.getId(), project);
+        }
         
+        List<RecommendationResult> recommendations = new ArrayList<>();
+        for (RecommendationRefinement refinement : refinements) {
+            Project project = byId.get(refinement.getProjectId());
+            String reasoning = refinement.getReasoning();
+            recommendations.add(new RecommendationResult(
+                project,
+                Math.round(refinement.getMatchScore() * 100.0) / 100.0,
+                reasoning,
+                () -> textRenderer.resumePoints(project),
+                () -> textRenderer.learningPlan(project)));
+        }
+        recommendations.sort(Comparator.comparingDouble(RecommendationResult::getMatchScore).reversed());
+        return recommendations.isEmpty() ? getMockRecommendations(item.user(), item.catalog(), item.limit()) : recommendations;
+    }
+    
+    // choices[0].message.content, or "" when the response carries none
+    private static String completionText(Map<String, Object> response) {
+        if (response.get("choices") instanceof List<?> choices && !choices.isEmpty()
+                && choices.get(0) instanceof Map<?, ?> choice
+                && choice.get("message") instanceof Map<?, ?> message
+                && message.get("content") instanceof String content) {
+            return content;
+        }
+        return "";
+    }
+    
+    private static <T> void relay(CompletableFuture<T> source, CompletableFuture<T> target) {
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                target.completeExceptionally(unwrap(error));
+            } else {
+                target.complete(value);
+            }
+        });
+    }
+    
+    // OpenAI-shaped chat completion request for one user prompt under the shared system message
+    private Map<String, Object> chatRequest(String userPrompt, int maxTokens) {
         Map<String, Object> request = new HashMap<>();
-        request.put("model", "gpt-4");
+        request.put("model", openAIConfig.getModel());
         request.put("messages", Arrays.asList(
-            Map.of("role", "system", "content", "You are an expert career advisor for college students. Provide personalized project recommendations with match scores, reasoning, resume points, and learning plans."),
-            Map.of("role", "user", "content", prompt)
+            Map.of("role", "system", "content", PromptBuilder.SYSTEM_MESSAGE),
+            Map.of("role", "user", "content", userPrompt)
         ));
-        request.put("max_tokens", 2000);
+        request.put("max_tokens", maxTokens);
         request.put("temperature", 0.7);
+        return request;
+    }
+    
+    // Serves identical (model, prompt, temperature) requests from the persistent completion cache,
+    // and only goes upstream while the circuit breaker allows it
+    private CompletableFuture<Map<String, Object>> complete(Map<String, Object> request) {
+        Optional<Map<String, Object>> cached = llmResponseCache.get(request);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("LLM circuit open"));
+        }
+        long start = System.nanoTime();
+        return llmRouter.chatCompletion(request)
+                .whenComplete((response, error) -> recordOutcome(start, error))
+                .thenApply(response -> {
+                    llmResponseCache.put(request, response);
+                    return response;
+                });
+    }
+    
+    private List<RecommendationResult> fallbackRecommendations(User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        return getMockRecommendations(user, catalog, limit).stream()
+                .map(RecommendationResult::asFallback)
+                .toList();
+    }
+    
+    // Bulkhead rejections never reached the upstream and say nothing about its health
+    private void recordOutcome(long startNanos, Throwable error) {
+        if (error != null && unwrap(error) instanceof RejectedExecutionException) {
+            circuitBreaker.onIgnored();
+        } else {
+            circuitBreaker.onResult(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), error == null);
+        }
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    private List<RecommendationResult> getMockRecommendations(User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        // Projects sharing a skill with the student or their branch
+        List<Project> candidates = catalog.candidates(user.getSkills(), branchSkillsFor(user.getBranch()));
         
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openAIConfig.getApiKey());
+        // Projects whose text is close to the profile can match without sharing a skill tag
+        Map<Long, Double> semantic = projectVectorIndex.nearest(user, semanticConfig.getNeighbors());
+        // Aligned with candidates, so scoring reads a primitive instead of a boxed map lookup per candidate
+        double[] similarity;
+        if (semantic.isEmpty()) {
+            similarity = new double[candidates.size()];
+        } else {
+            Map<Long, Integer> positions = new HashMap<>(candidates.size() * 2);
+            for (int i = 0; i < candidates.size(); i++) {
+                positions.put(candidates.get(i).getId(), i);
+            }
+            for (Long id : semantic.keySet()) {
+                Project project = catalog.project(id);
+                if (project != null && positions.putIfAbsent(id, candidates.size()) == null) candidates.add(project);
+            }
+            similarity = new double[candidates.size()];
+            semantic.forEach((id, value) -> {
+                Integer i = positions.get(id);
+                if (i != null) similarity[i] = value;
+            });
+        }
         
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
+        // Rank on primitive scores (in parallel for large catalogs); only the winners get a response object
+        // Only recommend if match > 30%
+        long jitterSeed = mix64(profileSeed(user) ^ catalog.getVersion());
+        TopKSelector topK = scoringEngine.rank(candidates.size(),
+                i -> calculateMatchScore(user, candidates.get(i), jitterSeed, similarity[i]), MATCH_THRESHOLD, limit);
         
-        try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                openAIConfig.getBaseUrl() + "/chat/completions", 
-                entity, 
-                Map.class
-            );
+        List<RecommendationResult> recommendations = new ArrayList<>(topK.size());
+        for (int i = 0; i < topK.size(); i++) {
+            Project project = candidates.get(topK.idAt(i));
+            double matchScore = topK.scoreAt(i);
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseOpenAIResponse(response.getBody(), availableProjects);
-            }
-        } catch (Exception e) {
-            System.err.println("OpenAI API call failed: " + e.getMessage());
+            recommendations.add(new RecommendationResult(
+                project,
+                Math.round(matchScore * 100.0) / 100.0,
+                () -> textRenderer.reasoning(user, project, matchScore),
+                () -> textRenderer.resumePoints(project),
+                () -> textRenderer.learningPlan(project)));
         }
         
-        return getMockRecommendations(user, availableProjects);
+        return recommendations;
     }
     
-    private List<Map<String, Object>> getMockRecommendations(User user, List<Project> availableProjects) {
-        List<Map<String, Object>> recommendations = new ArrayList<>();
+    // Scans checkouts under the analysis workspace; remote URLs aren't cloned and keep the simulated analysis
+    public Map<String, Object> analyzeRepository(String repoUrl, User user) throws IOException {
+        if (!repositoryAnalyzer.isLocal(repoUrl)) {
+            return simulateRepositoryAnalysis(repoUrl, user);
+        }
         
-        for (Project project : availableProjects) {
-            double matchScore = calculateMatchScore(user, project);
-            
-            if (matchScore > 0.3) { // Only recommend if match > 30%
-                Map<String, Object> recommendation = new HashMap<>();
-                recommendation.put("project", project);
-                recommendation.put("matchScore", Math.round(matchScore * 100.0) / 100.0);
-                recommendation.put("reasoning", generateReasoning(user, project, matchScore));
-                recommendation.put("resumePoints", generateResumePoints(project));
-                recommendation.put("learningPlan", generateLearningPlan(project));
-                recommendations.add(recommendation);
-            }
+        RepositoryAnalysis scan = repositoryAnalyzer.analyze(repoUrl);
+        List<String> technologies = new ArrayList<>(scan.getLanguages().keySet());
+        technologies.addAll(scan.getFrameworks());
+        List<String> suggestions = new ArrayList<>();
+        List<String> improvementAreas = new ArrayList<>();
+        double testRatio = scan.getCodeLines() == 0 ? 0 : (double) scan.getTestCodeLines() / scan.getCodeLines();
+        double commentRatio = scan.getCodeLines() + scan.getCommentLines() == 0 ? 0
+                : (double) scan.getCommentLines() / (scan.getCodeLines() + scan.getCommentLines());
+        double decisionDensity = decisionDensity(scan);
+        
+        if (scan.getTestFiles() == 0) {
+            suggestions.add("Implement unit tests");
+            improvementAreas.add("Testing");
+        } else if (testRatio < 0.2) {
+            suggestions.add("Increase test coverage: tests are " + Math.round(testRatio * 100) + "% of the code lines");
+            improvementAreas.add("Testing");
+        }
+        if (commentRatio < 0.05) {
+            suggestions.add("Improve code documentation");
+            improvementAreas.add("Documentation");
+        }
+        if (decisionDensity > 20) {
+            suggestions.add("Split branch-heavy code into smaller functions");
+            improvementAreas.add("Complexity");
+        }
+        if (scan.getBuildFiles().isEmpty()) {
+            suggestions.add("Add a build file (pom.xml, build.gradle or package.json) so the project builds reproducibly");
+            improvementAreas.add("Build Setup");
+        }
+        if (scan.isTruncated()) {
+            suggestions.add("Only part of the repository was analyzed: " + scan.getTruncationReason());
         }
         
-        // Sort by match score descending
-        recommendations.sort((a, b) -> Double.compare((Double) b.get("matchScore"), (Double) a.get("matchScore")));
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("repoUrl", repoUrl);
+        analysis.put("complexity", scan.getCodeLines() > 20000 || decisionDensity > 20 ? "High"
+                : scan.getCodeLines() > 3000 || decisionDensity > 12 ? "Medium" : "Low");
+        analysis.put("technologies", technologies);
+        analysis.put("codeQuality", codeQuality(scan, testRatio, commentRatio, decisionDensity));
+        analysis.put("suggestions", suggestions);
+        analysis.put("skillGaps", technologies.stream()
+                .filter(technology -> user.getSkills() == null || user.getSkills().stream().noneMatch(technology::equalsIgnoreCase))
+                .limit(5)
+                .toList());
+        analysis.put("improvementAreas", improvementAreas);
+        // Roughly half a day per suggestion, plus reading time for larger codebases
+        analysis.put("estimatedHours", (int) Math.min(80, 4L * suggestions.size() + scan.getCodeLines() / 2500 + 2));
+        analysis.put("metrics", scan);
+        analysis.put("cacheHitRatios", analysisCache.hitRatios());
         
-        return recommendations;
+        return analysis;
+    }
+    
+    // Decision points per 100 code lines
+    private static double decisionDensity(RepositoryAnalysis scan) {
+        return scan.getCodeLines() == 0 ? 0 : scan.getDecisionPoints() * 100.0 / scan.getCodeLines();
+    }
+    
+    private static String codeQuality(RepositoryAnalysis scan, double testRatio, double commentRatio, double decisionDensity) {
+        if (scan.getTestFiles() == 0 || decisionDensity > 25) {
+            return "Needs Improvement";
+        }
+        return testRatio >= 0.2 && commentRatio >= 0.1 && decisionDensity <= 15 ? "Excellent" : "Good";
     }
     
     // Mock AI repository analysis
-    public Map<String, Object> analyzeRepository(String repoUrl, User user) {
+    private Map<String, Object> simulateRepositoryAnalysis(String repoUrl, User user) {
         Map<String, Object> analysis = new HashMap<>();
         
         // Simulate analysis results
@@ -112,33 +549,34 @@ public class AIService {
         return analysis;
     }
     
-    // Mock AI comparison service
+    // Similarity is the Jaccard index of the two skill sets; strengths and project ideas are still canned
     public Map<String, Object> compareStudents(User student1, User student2) {
         Map<String, Object> comparison = new HashMap<>();
         
         comparison.put("student1", student1.getName());
         comparison.put("student2", student2.getName());
-        comparison.put("similarityScore", Math.round((random.nextDouble() * 0.4 + 0.3) * 100.0) / 100.0);
-        comparison.put("commonSkills", findCommonSkills(student1.getSkills(), student2.getSkills()));
+        double similarity = studentSimilarityIndex.similarity(student1, student2);
+        comparison.put("similarityScore", Math.round(similarity * 100.0) / 100.0);
+        comparison.put("commonSkills", findCommonSkills(student1, student2));
         comparison.put("strengthsStudent1", generateStudentStrengths(student1));
         comparison.put("strengthsStudent2", generateStudentStrengths(student2));
-        comparison.put("collaborationPotential", random.nextBoolean() ? "High" : "Medium");
+        comparison.put("collaborationPotential", similarity >= 0.5 ? "High" : similarity >= 0.25 ? "Medium" : "Low");
         comparison.put("recommendedProjects", Arrays.asList("Collaborative Web App", "Open Source Contribution"));
         
         return comparison;
     }
     
-    private double calculateMatchScore(User user, Project project) {
+    private double calculateMatchScore(User user, Project project, long jitterSeed, double semanticSimilarity) {
         double score = 0.0;
         
         // Branch compatibility (40% weight)
-        if (isBranchCompatible(user.getBranch(), project.getSkills())) {
+        if (isBranchCompatible(user.getBranch(), project.getSkillBits())) {
             score += 0.4;
         }
         
-        // Skill overlap (50% weight)
-        double skillOverlap = calculateSkillOverlap(user.getSkills(), project.getSkills());
-        score += skillOverlap * 0.5;
+        // Skill overlap or, when stronger, similarity of the project text to the profile (50% weight)
+        double skillOverlap = calculateSkillOverlap(user.getSkillBits(), project.getSkillBits());
+        score += Math.max(skillOverlap, semanticSimilarity * semanticConfig.getWeight()) * 0.5;
         
         // Difficulty appropriateness (10% weight)
         if (isDifficultyAppropriate(user.getSkills().size(), project.getDifficulty())) {
@@ -146,31 +584,60 @@ public class AIService {
         }
         
         // Add some randomness for variety
-        score += random.nextDouble() * 0.2 - 0.1;
+        score += diversityJitter(project, jitterSeed);
         
         return Math.max(0.0, Math.min(1.0, score));
     }
     
-    private double calculateSkillOverlap(List<String> userSkills, List<String> projectSkills) {
-        if (userSkills.isEmpty() || projectSkills.isEmpty()) return 0.0;
-        
-        Set<String> userSkillSet = new HashSet<>(userSkills);
-        Set<String> projectSkillSet = new HashSet<>(projectSkills);
-        
-        userSkillSet.retainAll(projectSkillSet);
-        return (double) userSkillSet.size() / projectSkillSet.size();
+    // Uniform in [-0.1, 0.1). Deterministic mode hashes the inputs so identical requests rank identically.
+    private double diversityJitter(Project project, long jitterSeed) {
+        double unit;
+        if (scoringConfig.isDeterministic()) {
+            long h = mix64(jitterSeed ^ (project.getId() == null ? 0L : project.getId()));
+            unit = (h >>> 11) * 0x1.0p-53;
+        } else {
+            unit = ThreadLocalRandom.current().nextDouble();
+        }
+        return unit * 0.2 - 0.1;
     }
     
-    private boolean isBranchCompatible(String branch, List<String> projectSkills) {
-        Map<String, List<String>> branchSkills = Map.of(
-            "Computer Science", Arrays.asList("Java", "Python", "JavaScript", "React", "Spring Boot"),
-            "Information Technology", Arrays.asList("Java", "JavaScript", "HTML", "CSS", "MySQL"),
-            "Electronics", Arrays.asList("Python", "Arduino", "C++", "IoT"),
-            "Mechanical", Arrays.asList("Python", "MATLAB", "CAD", "Simulation")
-        );
+    // Seeds the jitter from the profile rather than the student id, so students with the
+    // same branch and skills get the same ranking and can share a cached result
+    private static long profileSeed(User user) {
+        long h = mix64(user.getBranch() == null ? 0L : user.getBranch().hashCode());
+        return mix64(h ^ SkillDictionary.canonicalize(user.getSkills()).hashCode());
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    // Fraction of the project's distinct skills the student has: popcount(user & project) / popcount(project)
+    private double calculateSkillOverlap(long[] userSkills, long[] projectSkills) {
+        int projectSkillCount = SkillDictionary.cardinality(projectSkills);
+        if (userSkills.length == 0 || projectSkillCount == 0) return 0.0;
         
-        List<String> branchRelatedSkills = branchSkills.getOrDefault(branch, Arrays.asList("Java", "Python"));
-        return projectSkills.stream().anyMatch(branchRelatedSkills::contains);
+        return (double) SkillDictionary.intersectionCount(userSkills, projectSkills) / projectSkillCount;
+    }
+    
+    private boolean isBranchCompatible(String branch, long[] projectSkills) {
+        long[] branchMask = branchMasks.computeIfAbsent(branch == null ? "" : branch,
+                key -> skillDictionary.encode(branchSkillsFor(branch)));
+        return SkillDictionary.intersects(branchMask, projectSkills);
+    }
+    
+    private long[] skillBitsOf(User user) {
+        if (user.getSkillBits() == null) {
+            user.setSkillBits(skillDictionary.encode(user.getSkills()));
+        }
+        return user.getSkillBits();
+    }
+    
+    private List<String> branchSkillsFor(String branch) {
+        return branch == null ? DEFAULT_BRANCH_SKILLS : BRANCH_SKILLS.getOrDefault(branch, DEFAULT_BRANCH_SKILLS);
     }
     
     private boolean isDifficultyAppropriate(int userSkillCount, Project.Difficulty difficulty) {
@@ -182,34 +649,6 @@ public class AIService {
         };
     }
     
-    private String generateReasoning(User user, Project project, double matchScore) {
-        return String.format("This project matches %s's %s background and %s skills. " +
-                "The %s difficulty level is appropriate for their current skill level. " +
-                "Match score: %.0f%%", 
-                user.getName(), user.getBranch(), 
-                String.join(", ", user.getSkills()),
-                project.getDifficulty().name().toLowerCase(),
-                matchScore * 100);
-    }
-    
-    private String generateResumePoints(Project project) {
-        return String.format("• Developed %s using modern technologies\n" +
-                "• Implemented best practices and clean code principles\n" +
-                "• Gained experience in %s\n" +
-                "• Contributed to project completion within estimated timeline",
-                project.getName(),
-                String.join(", ", project.getSkills()));
-    }
-    
-    private String generateLearningPlan(Project project) {
-        return String.format("1. Study %s fundamentals (Week 1-2)\n" +
-                "2. Set up development environment (Week 2)\n" +
-                "3. Implement core features (Week 3-4)\n" +
-                "4. Add testing and documentation (Week 4-5)\n" +
-                "5. Deploy and showcase (Week 5)",
-                String.join(" and ", project.getSkills()));
-    }
-    
     private String getRandomComplexity() {
         String[] complexities = {"Low", "Medium", "High"};
         return complexities[random.nextInt(complexities.length)];
@@ -239,11 +678,8 @@ public class AIService {
                 .toList();
     }
     
-    private List<String> findCommonSkills(List<String> skills1, List<String> skills2) {
-        Set<String> set1 = new HashSet<>(skills1);
-        Set<String> set2 = new HashSet<>(skills2);
-        set1.retainAll(set2);
-        return new ArrayList<>(set1);
+    private List<String> findCommonSkills(User student1, User student2) {
+        return skillDictionary.decode(SkillDictionary.and(skillBitsOf(student1), skillBitsOf(student2)));
     }
     
     private List<String> generateStudentStrengths(User student) {
@@ -255,36 +691,10 @@ public class AIService {
         );
     }
     
-    private String buildRecommendationPrompt(User user, List<Project> availableProjects) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Student Profile:\n");
-        prompt.append("- Name: ").append(user.getName()).append("\n");
-        prompt.append("- Branch: ").append(user.getBranch()).append("\n");
-        prompt.append("- Skills: ").append(String.join(", ", user.getSkills())).append("\n");
-        prompt.append("- GitHub: ").append(user.getGithubUsername()).append("\n\n");
-        
-        prompt.append("Available Projects:\n");
-        for (int i = 0; i < availableProjects.size(); i++) {
-            Project project = availableProjects.get(i);
-            prompt.append(i + 1).append(". ").append(project.getName()).append("\n");
-            prompt.append("   Description: ").append(project.getDescription()).append("\n");
-            prompt.append("   Difficulty: ").append(project.getDifficulty()).append("\n");
-            prompt.append("   Skills: ").append(String.join(", ", project.getSkills())).append("\n");
-            prompt.append("   Hours: ").append(project.getEstimatedHours()).append("\n\n");
-        }
-        
-        prompt.append("Please recommend the top 3-5 projects for this student with:\n");
-        prompt.append("1. Match score (0-100%)\n");
-        prompt.append("2. Detailed reasoning\n");
-        prompt.append("3. Resume points they can highlight\n");
-        prompt.append("4. Step-by-step learning plan\n");
-        prompt.append("Format as JSON with project names as keys.");
-        
-        return prompt.toString();
-    }
-    
-    private List<Map<String, Object>> parseOpenAIResponse(Map<String, Object> response, List<Project> availableProjects) {
-        List<Map<String, Object>> recommendations = new ArrayList<>();
+    // Only projects that were offered in the prompt can be named in the answer
+    private List<RecommendationResult> parseOpenAIResponse(Map<String, Object> response, List<Project> availableProjects,
+                                                           User user, ProjectSkillIndex.Snapshot catalog, int limit) {
+        List<RecommendationResult> recommendations = new ArrayList<>();
         
         try {
             List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
@@ -296,13 +706,13 @@ public class AIService {
                 // For now, return mock data but with AI-generated content
                 for (Project project : availableProjects) {
                     if (content.toLowerCase().contains(project.getName().toLowerCase())) {
-                        Map<String, Object> recommendation = new HashMap<>();
-                        recommendation.put("project", project);
-                        recommendation.put("matchScore", 0.85); // AI-generated score
-                        recommendation.put("reasoning", "AI Analysis: " + content.substring(0, Math.min(200, content.length())));
-                        recommendation.put("resumePoints", generateResumePoints(project));
-                        recommendation.put("learningPlan", generateLearningPlan(project));
-                        recommendations.add(recommendation);
+                        String reasoning = "AI Analysis: " + content.substring(0, Math.min(200, content.length()));
+                        recommendations.add(new RecommendationResult(
+                            project,
+                            0.85, // AI-generated score
+                            reasoning,
+                            () -> textRenderer.resumePoints(project),
+                            () -> textRenderer.learningPlan(project)));
                     }
                 }
             }
@@ -310,7 +720,9 @@ public class AIService {
             System.err.println("Error parsing OpenAI response: " + e.getMessage());
         }
         
-        return recommendations.isEmpty() ? getMockRecommendations(null, availableProjects) : recommendations;
+        return recommendations.isEmpty() ? getMockRecommendations(user, catalog, limit) : recommendations;
+    }
+    
+    private record BatchItem(User user, List<Project> shortlist, ProjectSkillIndex.Snapshot catalog, int limit) {
     }
 }
-
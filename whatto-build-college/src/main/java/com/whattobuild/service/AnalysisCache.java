@@ -0,0 +1,224 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.AnalysisCacheConfig;
+import com.whattobuild.dto.RepositoryAnalysis;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Content-addressed store for repository analysis. Per-file metrics are keyed
+ * by language and content hash, whole-repository results by a tree hash over
+ * (path, content hash) of every analyzed file, so a re-submitted repository
+ * only measures the files that changed and an unchanged one is answered
+ * without reading any. Entries live in an LRU map bounded by their serialized
+ * size and are journaled through a {@link JsonLinesJournal} like
+ * {@link LlmResponseCache}; the journal is compacted once it grows past
+ * max-size. A separate in-memory memo maps
+ * (path, size, modified time) to the content hash.
+ */
+@Component
+public class AnalysisCache {
+    
+    // Bump when RepositoryAnalyzer changes what it measures, so stale entries stop matching
+    private static final String VERSION = "1";
+    
+    @Autowired
+    private AnalysisCacheConfig cacheConfig;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long liveBytes;
+    private Map<String, StatEntry> stats;
+    private JsonLinesJournal journal;
+    private Counter fileHits;
+    private Counter fileMisses;
+    private Counter treeHits;
+    private Counter treeMisses;
+    
+    @PostConstruct
+    public void init() {
+        fileHits = requests("file", "hit");
+        fileMisses = requests("file", "miss");
+        treeHits = requests("tree", "hit");
+        treeMisses = requests("tree", "miss");
+        stats = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatEntry> eldest) {
+                return size() > cacheConfig.getMaxStatEntries();
+            }
+        };
+        meterRegistry.gauge("analysis.cache.bytes", this, cache -> cache.liveBytes());
+        
+        if (!cacheConfig.isEnabled()) return;
+        journal = new JsonLinesJournal("analysis-cache", Paths.get(cacheConfig.getPath()), objectMapper);
+        try {
+            warmUp();
+            journal.open(cacheConfig.getMaxSize().toBytes(), this::liveRecords);
+            journal.compact();
+        } catch (IOException e) {
+            System.err.println("Analysis cache journal unavailable, caching in memory only: " + e.getMessage());
+        }
+    }
+    
+    private Counter requests(String level, String result) {
+        return Counter.builder("analysis.cache.requests")
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    // Not synchronized: the writer takes the cache lock for its compaction snapshot
+    @PreDestroy
+    public void close() {
+        if (journal != null) journal.close();
+    }
+    
+    public synchronized long liveBytes() {
+        return liveBytes;
+    }
+    
+    // Content hash recorded for this exact file version, or null
+    public synchronized String contentHash(Path file, long size, long modifiedMillis) {
+        StatEntry entry = stats.get(file.toString());
+        return entry != null && entry.size() == size && entry.modifiedMillis() == modifiedMillis
+                ? entry.contentHash() : null;
+    }
+    
+    public synchronized void rememberContentHash(Path file, long size, long modifiedMillis, String contentHash) {
+        stats.put(file.toString(), new StatEntry(size, modifiedMillis, contentHash));
+    }
+    
+    public RepositoryAnalyzer.FileMetrics getFile(String language, String contentHash) {
+        if (!cacheConfig.isEnabled()) return null;
+        String value;
+        synchronized (this) {
+            value = entries.get(fileKey(language, contentHash));
+        }
+        if (value == null) {
+            fileMisses.increment();
+            return null;
+        }
+        fileHits.increment();
+        String[] parts = value.split(",");
+        RepositoryAnalyzer.FileMetrics metrics = new RepositoryAnalyzer.FileMetrics();
+        metrics.codeLines = Long.parseLong(parts[0]);
+        metrics.commentLines = Long.parseLong(parts[1]);
+        metrics.blankLines = Long.parseLong(parts[2]);
+        metrics.decisionPoints = Long.parseLong(parts[3]);
+        return metrics;
+    }
+    
+    public void putFile(String language, String contentHash, RepositoryAnalyzer.FileMetrics metrics) {
+        if (!cacheConfig.isEnabled()) return;
+        put(fileKey(language, contentHash), metrics.codeLines + "," + metrics.commentLines + ","
+                + metrics.blankLines + "," + metrics.decisionPoints);
+    }
+    
+    // A fresh copy each time, so callers may overwrite per-request fields
+    public RepositoryAnalysis getTree(String treeHash) {
+        if (!cacheConfig.isEnabled()) return null;
+        String value;
+        synchronized (this) {
+            value = entries.get("t:" + VERSION + ":" + treeHash);
+        }
+        if (value != null) {
+            try {
+                RepositoryAnalysis analysis = objectMapper.readValue(value, RepositoryAnalysis.class);
+                treeHits.increment();
+                return analysis;
+            } catch (IOException e) {
+                // Treat an unreadable entry as a miss; the fresh result replaces it
+            }
+        }
+        treeMisses.increment();
+        return null;
+    }
+    
+    public void putTree(String treeHash, RepositoryAnalysis analysis) {
+        if (!cacheConfig.isEnabled()) return;
+        try {
+            put("t:" + VERSION + ":" + treeHash, objectMapper.writeValueAsString(analysis));
+        } catch (IOException e) {
+            // Not cached; the next submission recomputes it from the file entries
+        }
+    }
+    
+    // Hit ratios since startup, by level
+    public Map<String, Double> hitRatios() {
+        Map<String, Double> ratios = new LinkedHashMap<>();
+        ratios.put("file", ratio(fileHits, fileMisses));
+        ratios.put("tree", ratio(treeHits, treeMisses));
+        return ratios;
+    }
+    
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : Math.round(hits.count() / total * 1000) / 1000.0;
+    }
+    
+    private static String fileKey(String language, String contentHash) {
+        return "f:" + VERSION + ":" + language + ":" + contentHash;
+    }
+    
+    private void put(String key, String value) {
+        synchronized (this) {
+            store(key, value);
+        }
+        if (journal != null) journal.append(Map.of("key", key, "value", value));
+    }
+    
+    // Live entries are held to half the disk budget, so a compacted journal always has room to grow
+    private void store(String key, String value) {
+        String previous = entries.put(key, value);
+        liveBytes += weight(key, value) - (previous == null ? 0 : weight(key, previous));
+        long limit = cacheConfig.getMaxSize().toBytes() / 2;
+        Iterator<Map.Entry<String, String>> eldest = entries.entrySet().iterator();
+        while (liveBytes > limit && eldest.hasNext()) {
+            Map.Entry<String, String> e = eldest.next();
+            liveBytes -= weight(e.getKey(), e.getValue());
+            eldest.remove();
+        }
+    }
+    
+    // Approximate journal bytes for one entry: key, value and the JSON framing around them
+    private static long weight(String key, String value) {
+        return key.length() + value.length() + 24;
+    }
+    
+    // Replays the journal; later lines win
+    private void warmUp() throws IOException {
+        journal.replay(record -> {
+            String key = (String) record.get("key");
+            // Entries written by an older analyzer version can never match again
+            if (key.startsWith("f:" + VERSION + ":") || key.startsWith("t:" + VERSION + ":")) {
+                store(key, (String) record.get("value"));
+            }
+        });
+        System.out.println("Analysis cache warmed with " + entries.size() + " entries (" + liveBytes + " bytes)");
+    }
+    
+    // Compaction snapshot, taken on the journal's writer thread
+    private synchronized List<Map<String, Object>> liveRecords() {
+        List<Map<String, Object>> live = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> live.add(Map.of("key", key, "value", value)));
+        return live;
+    }
+    
+    private record StatEntry(long size, long modifiedMillis, String contentHash) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.whattobuild.service;
+
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.model.Project;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a multi-student completion on its "### S&lt;n&gt;" headers and parses
+ * each section with the line parser against the shared project block. A
+ * project the model names outside that student's candidates is dropped, so
+ * one student's answer can never leak into another's.
+ */
+public final class BatchCompletionParser {
+    
+    // "### S2", "S2:", "**S2**", "Student S2" and similar
+    private static final Pattern HEADER = Pattern.compile(
+            "^\\s*(?:#+\\s*)?(?:\\*\\*)?(?:student\\s+)?S(\\d{1,3})(?:\\*\\*)?\\s*:?\\s*(?:\\*\\*)?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+    
+    private BatchCompletionParser() {
+    }
+    
+    // One list per prompt section, in section order; sections the model skipped come back empty
+    public static List<List<RecommendationRefinement>> parse(String content, PromptBuilder.BatchPrompt prompt) {
+        int sections = prompt.getStudents().size();
+        List<List<RecommendationRefinement>> results = new ArrayList<>(sections);
+        List<StreamingCompletionParser> parsers = new ArrayList<>(sections);
+        for (int k = 0; k < sections; k++) {
+            List<RecommendationRefinement> section = new ArrayList<>();
+            Set<Long> allowed = new HashSet<>();
+            for (Project project : prompt.getCandidates().get(k)) {
+                allowed.add(project.getId());
+            }
+            results.add(section);
+            parsers.add(new StreamingCompletionParser(prompt.getProjects(), refinement -> {
+                if (allowed.contains(refinement.getProjectId())) section.add(refinement);
+            }));
+        }
+        
+        StreamingCompletionParser current = null;
+        for (String line : content.split("\n")) {
+            Matcher header = HEADER.matcher(line);
+            if (header.matches()) {
+                int k = Integer.parseInt(header.group(1)) - 1;
+                current = k >= 0 && k < sections ? parsers.get(k) : null;
+            } else if (current != null) {
+                current.accept(line + "\n");
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,176 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.CollaboratorJobConfig;
+import com.whattobuild.model.CollaboratorJobCheckpoint;
+import com.whattobuild.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nightly job that precomputes every student's top-K most compatible peers
+ * into the student_collaborators table. Work is partitioned by branch and the
+ * branches run in parallel; within a branch students are taken in id order in
+ * chunks, each committed together with the branch checkpoint. Candidates come
+ * from the LSH buckets of {@link StudentSimilarityIndex}, so the whole cohort
+ * is searched without comparing every pair.
+ */
+@Component
+public class CollaboratorJob {
+    
+    @Autowired
+    private CollaboratorJobConfig jobConfig;
+    
+    @Autowired
+    private CollaboratorStore collaboratorStore;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private StudentSimilarityIndex studentSimilarityIndex;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService executor;
+    private Counter studentsProcessed;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // One extra thread drives the run itself
+        executor = Executors.newFixedThreadPool(Math.max(1, jobConfig.getThreads()) + 1, r -> {
+            Thread thread = new Thread(r, "collaborators-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        studentsProcessed = Counter.builder("collaborators.job.students")
+                .description("Students whose top collaborators were recomputed")
+                .register(meterRegistry);
+    }
+    
+    // Interrupting workers is safe: every committed chunk is covered by a checkpoint
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // Handed to the job's own pool: the run takes minutes, and holding Spring's single scheduler thread
+    // for that long would stall every other @Scheduled task, such as the recommendation sweep
+    @Scheduled(cron = "${collaborators.cron:0 30 2 * * *}")
+    public void runNightly() {
+        if (!jobConfig.isEnabled()) return;
+        String runId = LocalDate.now().toString();
+        executor.execute(() -> run(runId));
+    }
+    
+    // Finishes a run that was interrupted, or fills the table the first time the application starts
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!jobConfig.isEnabled()) return;
+        List<CollaboratorJobCheckpoint> unfinished = collaboratorStore.findUnfinishedCheckpoints();
+        if (!unfinished.isEmpty()) {
+            String runId = unfinished.get(0).getRunId();
+            System.out.println("Resuming top-collaborators run " + runId);
+            executor.execute(() -> run(runId));
+        } else if (!collaboratorStore.hasCheckpoints()) {
+            executor.execute(() -> run(LocalDate.now().toString()));
+        }
+    }
+    
+    public void run(String runId) {
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("Top-collaborators run " + runId + " skipped: a run is already in progress");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        String outcome = "completed";
+        int students = 0;
+        try {
+            List<String> branches = userRepository.findStudentBranches();
+            List<Future<Integer>> partitions = new ArrayList<>();
+            for (String branch : branches) {
+                partitions.add(executor.submit(() -> runBranch(runId, branch)));
+            }
+            for (Future<Integer> partition : partitions) {
+                students += partition.get();
+            }
+            System.out.println("Top-collaborators run " + runId + " finished: " + students + " students in "
+                    + branches.size() + " branches, " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        } catch (ExecutionException e) {
+            outcome = "failed";
+            System.err.println("Top-collaborators run " + runId + " failed, it will resume from its checkpoints: "
+                    + e.getCause().getMessage());
+        } finally {
+            running.set(false);
+            Timer.builder("collaborators.job.duration")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private int runBranch(String runId, String branch) {
+        long afterId = 0;
+        Optional<CollaboratorJobCheckpoint> checkpoint = collaboratorStore.findCheckpoint(branch);
+        if (checkpoint.isPresent() && runId.equals(checkpoint.get().getRunId())) {
+            if (checkpoint.get().isCompleted()) return 0;
+            afterId = checkpoint.get().getLastStudentId();
+        }
+        
+        int processed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = userRepository.findStudentIdsByBranchAfter(branch, afterId,
+                    PageRequest.of(0, Math.max(1, jobConfig.getChunkSize())));
+            if (ids.isEmpty()) {
+                collaboratorStore.completeBranch(runId, branch, afterId);
+                break;
+            }
+            
+            Map<Long, List<StudentSimilarityIndex.Match>> peers = new LinkedHashMap<>();
+            for (Long id : ids) {
+                peers.put(id, topPeers(id));
+            }
+            afterId = ids.get(ids.size() - 1);
+            collaboratorStore.writeChunk(runId, branch, peers, afterId);
+            processed += ids.size();
+            studentsProcessed.increment(ids.size());
+        }
+        return processed;
+    }
+    
+    private List<StudentSimilarityIndex.Match> topPeers(Long studentId) {
+        try {
+            return studentSimilarityIndex.similarTo(studentId, jobConfig.getTopK()).stream()
+                    .filter(match -> match.similarity() >= jobConfig.getMinSimilarity())
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            // Signed up after the index was loaded and not yet indexed; picked up by the next run
+            return List.of();
+        }
+    }
+}
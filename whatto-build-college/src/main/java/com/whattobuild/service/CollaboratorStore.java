@@ -0,0 +1,87 @@
+package com.whattobuild.service;
+
+import com.whattobuild.model.CollaboratorJobCheckpoint;
+import com.whattobuild.model.StudentCollaborator;
+import com.whattobuild.repository.CollaboratorJobCheckpointRepository;
+import com.whattobuild.repository.StudentCollaboratorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads and writes the precomputed top-collaborators table. A chunk of results
+ * and the branch checkpoint that covers it commit in the same transaction, so
+ * a run interrupted at any point resumes exactly after the last written chunk.
+ */
+@Component
+public class CollaboratorStore {
+    
+    @Autowired
+    private StudentCollaboratorRepository collaboratorRepository;
+    
+    @Autowired
+    private CollaboratorJobCheckpointRepository checkpointRepository;
+    
+    @Transactional(readOnly = true)
+    public List<StudentCollaborator> findCollaborators(Long studentId) {
+        return collaboratorRepository.findByStudentIdOrderByRankAsc(studentId);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<StudentCollaborator> findCollaborator(Long studentId, Long peerId) {
+        return collaboratorRepository.findByStudentIdAndPeerId(studentId, peerId);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<CollaboratorJobCheckpoint> findCheckpoint(String branch) {
+        return checkpointRepository.findById(branch);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<CollaboratorJobCheckpoint> findUnfinishedCheckpoints() {
+        return checkpointRepository.findByCompletedFalse();
+    }
+    
+    @Transactional(readOnly = true)
+    public boolean hasCheckpoints() {
+        return checkpointRepository.count() > 0;
+    }
+    
+    // Replaces each student's rows with their new top-K and moves the branch checkpoint past the chunk
+    @Transactional
+    public void writeChunk(String runId, String branch, Map<Long, List<StudentSimilarityIndex.Match>> peers,
+                           Long lastStudentId) {
+        collaboratorRepository.deleteByStudentIds(peers.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<StudentCollaborator> rows = new ArrayList<>();
+        peers.forEach((studentId, matches) -> {
+            for (int i = 0; i < matches.size(); i++) {
+                StudentSimilarityIndex.Match match = matches.get(i);
+                rows.add(new StudentCollaborator(null, studentId, i + 1, match.studentId(), match.similarity(), now));
+            }
+        });
+        collaboratorRepository.saveAll(rows);
+        saveCheckpoint(runId, branch, lastStudentId, false);
+    }
+    
+    @Transactional
+    public void completeBranch(String runId, String branch, Long lastStudentId) {
+        saveCheckpoint(runId, branch, lastStudentId, true);
+    }
+    
+    private void saveCheckpoint(String runId, String branch, Long lastStudentId, boolean completed) {
+        CollaboratorJobCheckpoint checkpoint = checkpointRepository.findById(branch).orElseGet(CollaboratorJobCheckpoint::new);
+        checkpoint.setBranch(branch);
+        checkpoint.setRunId(runId);
+        checkpoint.setLastStudentId(lastStudentId);
+        checkpoint.setCompleted(completed);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+    }
+}
@@ -0,0 +1,104 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.model.Comparison;
+import com.whattobuild.model.StudentCollaborator;
+import com.whattobuild.model.User;
+import com.whattobuild.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ComparisonService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AIService aiService;
+    
+    @Autowired
+    private StudentSimilarityIndex studentSimilarityIndex;
+    
+    @Autowired
+    private CollaboratorStore collaboratorStore;
+    
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Compares two students and queues the result, which replaces an earlier comparison of the same pair
+    @Transactional(readOnly = true)
+    public Map<String, Object> compare(Long student1Id, Long student2Id) {
+        User student1 = loadStudent(student1Id);
+        User student2 = loadStudent(student2Id);
+        Map<String, Object> comparison = aiService.compareStudents(student1, student2);
+        // Where student 2 ranks among student 1's precomputed top collaborators, if at all
+        collaboratorStore.findCollaborator(student1Id, student2Id)
+                .ifPresent(entry -> comparison.put("collaboratorRank", entry.getRank()));
+        
+        Comparison entity = new Comparison();
+        entity.setStudent1(student1Id);
+        entity.setStudent2(student2Id);
+        entity.setSimilarityScore(((Number) comparison.get("similarityScore")).doubleValue());
+        entity.setResultsJson(toJson(comparison));
+        entity.setStrengthsStudent1(toJson(comparison.get("strengthsStudent1")));
+        entity.setStrengthsStudent2(toJson(comparison.get("strengthsStudent2")));
+        entity.setCollaborationSuggestions(toJson(comparison.get("recommendedProjects")));
+        entity.setCreatedAt(LocalDateTime.now());
+        writeBehindQueue.submitComparison(entity);
+        
+        return comparison;
+    }
+    
+    public List<StudentSimilarityIndex.Match> findSimilarStudents(Long studentId, int limit) {
+        return studentSimilarityIndex.similarTo(studentId, limit);
+    }
+    
+    // Read from the table the nightly CollaboratorJob fills; empty until its first run covers the student
+    public List<Map<String, Object>> findTopCollaborators(Long studentId) {
+        List<StudentCollaborator> entries = collaboratorStore.findCollaborators(studentId);
+        Map<Long, User> peers = new HashMap<>();
+        userRepository.findAllById(entries.stream().map(StudentCollaborator::getPeerId).toList())
+                .forEach(peer -> peers.put(peer.getId(), peer));
+        
+        List<Map<String, Object>> collaborators = new ArrayList<>(entries.size());
+        for (StudentCollaborator entry : entries) {
+            User peer = peers.get(entry.getPeerId());
+            if (peer == null) continue;
+            Map<String, Object> collaborator = new LinkedHashMap<>();
+            collaborator.put("rank", entry.getRank());
+            collaborator.put("studentId", peer.getId());
+            collaborator.put("name", peer.getName());
+            collaborator.put("branch", peer.getBranch());
+            collaborator.put("similarityScore", entry.getSimilarityScore());
+            collaborator.put("computedAt", entry.getComputedAt());
+            collaborators.add(collaborator);
+        }
+        return collaborators;
+    }
+    
+    private User loadStudent(Long studentId) {
+        return userRepository.findById(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found: " + studentId));
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.GoogleAIConfig;
+import com.whattobuild.config.LlmProviderConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.util.*;
+
+/**
+ * Non-blocking client for the Gemini generateContent endpoint of Google AI
+ * Studio. Translates OpenAI-shaped requests into Gemini's contents/parts form
+ * and its candidates back into an OpenAI-shaped completion. Bulkhead, timeouts
+ * and threading come from {@link HttpLlmClient}.
+ */
+@Component
+public class GeminiClient extends HttpLlmClient {
+
+    @Autowired
+    private GoogleAIConfig googleAIConfig;
+
+    @Override
+    public String getName() {
+        return "gemini";
+    }
+
+    @Override
+    protected LlmProviderConfig config() {
+        return googleAIConfig;
+    }
+
+    // System messages become systemInstruction; user/assistant turns become user/model contents
+    @Override
+    protected HttpRequest buildRequest(Map<String, Object> request) throws Exception {
+        List<Map<String, Object>> contents = new ArrayList<>();
+        StringBuilder system = new StringBuilder();
+        if (request.get("messages") instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (!(message instanceof Map<?, ?> m)) continue;
+                String text = String.valueOf(m.get("content"));
+                if ("system".equals(m.get("role"))) {
+                    system.append(text).append('\n');
+                } else {
+                    String role = "assistant".equals(m.get("role")) ? "model" : "user";
+                    contents.add(Map.of("role", role, "parts", List.of(Map.of("text", text))));
+                }
+            }
+        }
+
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("maxOutputTokens", request.get("max_tokens") instanceof Number n
+                ? n.intValue() : googleAIConfig.getMaxTokens());
+        generationConfig.put("temperature", request.get("temperature") instanceof Number n
+                ? n.doubleValue() : googleAIConfig.getTemperature());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("contents", contents);
+        body.put("generationConfig", generationConfig);
+        if (system.length() > 0) {
+            body.put("systemInstruction", Map.of("parts", List.of(Map.of("text", system.toString().strip()))));
+        }
+
+        String url = googleAIConfig.getBaseUrl() + "/models/" + googleAIConfig.getModel() + ":generateContent";
+        return post(url, body)
+                .header("x-goog-api-key", googleAIConfig.getKey())
+                .build();
+    }
+
+    // candidates[0].content.parts[*].text -> choices[0].message.content
+    @Override
+    protected Map<String, Object> toChatCompletion(Map<String, Object> body) {
+        if (!(body.get("candidates") instanceof List<?> candidates) || candidates.isEmpty()
+                || !(candidates.get(0) instanceof Map<?, ?> candidate)) {
+            throw new IllegalStateException("Gemini returned no candidates");
+        }
+
+        StringBuilder text = new StringBuilder();
+        if (candidate.get("content") instanceof Map<?, ?> content && content.get("parts") instanceof List<?> parts) {
+            for (Object part : parts) {
+                if (part instanceof Map<?, ?> p && p.get("text") instanceof String s) {
+                    text.append(s);
+                }
+            }
+        }
+
+        Map<String, Object> usage = new HashMap<>();
+        if (body.get("usageMetadata") instanceof Map<?, ?> metadata) {
+            Number prompt = metadata.get("promptTokenCount") instanceof Number n ? n : null;
+            Number completion = metadata.get("candidatesTokenCount") instanceof Number n ? n : null;
+            if (prompt != null) usage.put("prompt_tokens", prompt.intValue());
+            if (completion != null) usage.put("completion_tokens", completion.intValue());
+            recordUsage(prompt, completion);
+        }
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("role", "assistant");
+        message.put("content", text.toString());
+        Map<String, Object> choice = new HashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", String.valueOf(candidate.get("finishReason")).toLowerCase(Locale.ROOT));
+
+        Map<String, Object> completion = new HashMap<>();
+        completion.put("object", "chat.completion");
+        completion.put("model", googleAIConfig.getModel());
+        completion.put("choices", List.of(choice));
+        completion.put("usage", usage);
+        return completion;
+    }
+}
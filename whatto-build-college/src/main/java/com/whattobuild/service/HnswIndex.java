@@ -0,0 +1,242 @@
+package com.whattobuild.service;
+
+import java.util.*;
+
+/**
+ * Hierarchical navigable small world graph for approximate nearest-neighbour
+ * search over L2-normalized vectors (distance = 1 - dot product). Each node
+ * lives on a random number of layers; a search descends greedily through the
+ * sparse upper layers and then runs a best-first search of width ef on the
+ * dense bottom layer, so lookups touch a few hundred nodes instead of all of
+ * them. Removal leaves a tombstone that still routes searches but is never
+ * returned; callers rebuild once tombstones pile up. Concurrent searches are
+ * safe; writes must exclude everything else.
+ */
+final class HnswIndex {
+    
+    private final int m;
+    private final int maxLinks0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    private final List<Node> nodes = new ArrayList<>();
+    private final Map<Long, Integer> nodeById = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    private int deleted;
+    
+    // Visit marks are reused rather than allocated per search; inserts are single-threaded and share one
+    private final Visited insertVisits = new Visited();
+    private final ThreadLocal<Visited> searchVisits = ThreadLocal.withInitial(Visited::new);
+    
+    HnswIndex(int m, int efConstruction) {
+        this.m = Math.max(2, m);
+        this.maxLinks0 = this.m * 2;
+        this.efConstruction = Math.max(this.m, efConstruction);
+        this.levelMultiplier = 1 / Math.log(this.m);
+    }
+    
+    int size() {
+        return nodeById.size();
+    }
+    
+    int deletedCount() {
+        return deleted;
+    }
+    
+    // Live (id, vector) pairs, for rebuilding without the tombstones
+    Map<Long, float[]> liveVectors() {
+        Map<Long, float[]> live = new LinkedHashMap<>();
+        nodeById.forEach((id, node) -> live.put(id, nodes.get(node).vector));
+        return live;
+    }
+    
+    void add(long id, float[] vector) {
+        remove(id);
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        Node node = new Node(id, vector, level, m, maxLinks0);
+        int index = nodes.size();
+        nodes.add(node);
+        nodeById.put(id, index);
+        
+        if (entryPoint < 0) {
+            entryPoint = index;
+            maxLevel = level;
+            return;
+        }
+        
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vector, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> found = searchLayer(vector, current, efConstruction, l, insertVisits);
+            int maxLinks = l == 0 ? maxLinks0 : m;
+            for (int i = 0; i < Math.min(m, found.size()); i++) {
+                int neighbour = found.get(i).node;
+                node.link(l, neighbour);
+                connect(neighbour, index, l, maxLinks);
+            }
+            current = found.get(0).node;
+        }
+        if (level > maxLevel) {
+            entryPoint = index;
+            maxLevel = level;
+        }
+    }
+    
+    void remove(long id) {
+        Integer index = nodeById.remove(id);
+        if (index != null) {
+            nodes.get(index).deleted = true;
+            deleted++;
+        }
+    }
+    
+    // Up to k live ids, closest first, with their cosine similarity
+    List<Map.Entry<Long, Double>> search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || nodeById.isEmpty()) return List.of();
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedyClosest(query, current, l);
+        }
+        List<Map.Entry<Long, Double>> results = new ArrayList<>(k);
+        for (Candidate candidate : searchLayer(query, current, Math.max(ef, k), 0, searchVisits.get())) {
+            Node node = nodes.get(candidate.node);
+            if (node.deleted) continue;
+            results.add(Map.entry(node.id, 1.0 - candidate.distance));
+            if (results.size() == k) break;
+        }
+        return results;
+    }
+    
+    // Adds a back link; a full neighbour list keeps only its closest entries
+    private void connect(int from, int to, int level, int maxLinks) {
+        Node node = nodes.get(from);
+        if (node.linkCount[level] < maxLinks) {
+            node.link(level, to);
+            return;
+        }
+        int[] links = node.links[level];
+        int farthest = -1;
+        double farthestDistance = distance(node.vector, nodes.get(to).vector);
+        for (int i = 0; i < node.linkCount[level]; i++) {
+            double d = distance(node.vector, nodes.get(links[i]).vector);
+            if (d > farthestDistance) {
+                farthestDistance = d;
+                farthest = i;
+            }
+        }
+        if (farthest >= 0) links[farthest] = to;
+    }
+    
+    private int greedyClosest(float[] query, int start, int level) {
+        int current = start;
+        double best = distance(query, nodes.get(current).vector);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node node = nodes.get(current);
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int neighbour = node.links[level][i];
+                double d = distance(query, nodes.get(neighbour).vector);
+                if (d < best) {
+                    best = d;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+    
+    // Best-first search of width ef on one layer; results closest first
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int level, Visited visited) {
+        visited.reset(nodes.size());
+        
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingDouble(c -> c.distance));
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble((Candidate c) -> c.distance).reversed());
+        Candidate first = new Candidate(start, distance(query, nodes.get(start).vector));
+        frontier.add(first);
+        best.add(first);
+        visited.mark(start);
+        
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (best.size() >= ef && closest.distance > best.peek().distance) break;
+            Node node = nodes.get(closest.node);
+            for (int i = 0; i < node.linkCount[level]; i++) {
+                int neighbour = node.links[level][i];
+                if (!visited.mark(neighbour)) continue;
+                double d = distance(query, nodes.get(neighbour).vector);
+                if (best.size() < ef || d < best.peek().distance) {
+                    Candidate candidate = new Candidate(neighbour, d);
+                    frontier.add(candidate);
+                    best.add(candidate);
+                    if (best.size() > ef) best.poll();
+                }
+            }
+        }
+        
+        List<Candidate> results = new ArrayList<>(best);
+        results.sort(Comparator.comparingDouble(c -> c.distance));
+        return results;
+    }
+    
+    private static double distance(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return 1 - dot;
+    }
+    
+    // A node is visited when its mark equals the current generation, so resetting is O(1)
+    private static final class Visited {
+        int[] marks = new int[0];
+        int generation;
+        
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = Arrays.copyOf(marks, Math.max(size, marks.length * 2));
+            }
+            if (++generation == 0) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+        
+        // False if the node was already visited
+        boolean mark(int node) {
+            if (marks[node] == generation) return false;
+            marks[node] = generation;
+            return true;
+        }
+    }
+    
+    private record Candidate(int node, double distance) {
+    }
+    
+    private static final class Node {
+        final long id;
+        final float[] vector;
+        final int[][] links;
+        final int[] linkCount;
+        boolean deleted;
+        
+        Node(long id, float[] vector, int level, int m, int maxLinks0) {
+            this.id = id;
+            this.vector = vector;
+            this.links = new int[level + 1][];
+            this.linkCount = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? maxLinks0 : m];
+            }
+        }
+        
+        void link(int level, int to) {
+            links[level][linkCount[level]++] = to;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.LlmProviderConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport shared by the HTTP chat completion providers. Calls are bounded
+ * by a bulkhead (excess calls fail fast with
+ * {@link RejectedExecutionException}) and by connect, read and total
+ * timeouts. Returned futures complete on the client's completion pool,
+ * which is separate from the pool the HttpClient itself runs on, so a slow
+ * continuation never delays response handling. Continuations that block
+ * should still move to their own executor, since they hold a completion
+ * thread. Total timeouts fire on a single timer thread, which only cancels.
+ * Subclasses map requests and responses to and from the OpenAI chat
+ * completion shape.
+ */
+public abstract class HttpLlmClient implements LlmProvider {
+
+    protected static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    protected HttpClient httpClient;
+    protected ExecutorService executor;
+    private ExecutorService httpExecutor;
+    private ScheduledExecutorService scheduler;
+    private Semaphore bulkhead;
+    private DistributionSummary promptTokens;
+    private DistributionSummary completionTokens;
+
+    protected abstract LlmProviderConfig config();
+
+    // The provider's HTTP request for an OpenAI-shaped chat completion request
+    protected abstract HttpRequest buildRequest(Map<String, Object> request) throws Exception;
+
+    // The provider's response body as an OpenAI-shaped completion; records usage through recordUsage
+    protected abstract Map<String, Object> toChatCompletion(Map<String, Object> body);
+
+    @PostConstruct
+    public void init() {
+        int maxConcurrent = Math.max(1, config().getMaxConcurrentRequests());
+        executor = pool(getName(), maxConcurrent);
+        // The HttpClient's own work (selector hand-offs, reading bodies) never queues behind callers' continuations
+        httpExecutor = pool(getName() + "-http", maxConcurrent);
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemon(getName() + "-timer"));
+        bulkhead = new Semaphore(maxConcurrent);
+        promptTokens = usageSummary("prompt");
+        completionTokens = usageSummary("completion");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(config().getConnectTimeout())
+                .executor(httpExecutor)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        httpExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return config().isConfigured();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> chatCompletion(Map<String, Object> request) {
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(bulkheadFull());
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange;
+        try {
+            exchange = httpClient.sendAsync(buildRequest(request), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        // The permit follows the real exchange, not the caller's timeout, so a slow upstream
+        // can never have more than maxConcurrentRequests calls open
+        exchange.whenComplete((response, error) -> bulkhead.release());
+
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        exchange.whenCompleteAsync((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            try {
+                result.complete(readBody(response));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, executor);
+        failAfterTotalTimeout(result, () -> exchange.cancel(true));
+        return result;
+    }
+
+    protected static ExecutorService pool(String name, int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemon(name));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private DistributionSummary usageSummary(String type) {
+        return DistributionSummary.builder("llm.usage.tokens")
+                .description("Tokens billed per chat completion, as reported by the API")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .tag("provider", getName())
+                .register(meterRegistry);
+    }
+
+    // A permit per open call; every successful tryAcquireCall must be paired with releaseCall
+    protected boolean tryAcquireCall() {
+        return bulkhead.tryAcquire();
+    }
+
+    protected void releaseCall() {
+        bulkhead.release();
+    }
+
+    protected RejectedExecutionException bulkheadFull() {
+        return new RejectedExecutionException(getName() + " bulkhead full");
+    }
+
+    // JSON POST with the read timeout; the caller adds its auth header
+    protected HttpRequest.Builder post(String url, Object body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(config().getReadTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+    }
+
+    protected IllegalStateException httpError(int statusCode) {
+        return new IllegalStateException(getName() + " returned HTTP " + statusCode);
+    }
+
+    private Map<String, Object> readBody(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw httpError(response.statusCode());
+        }
+        Map<String, Object> body;
+        try {
+            body = objectMapper.readValue(response.body(), JSON_MAP);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable " + getName() + " response: " + e.getMessage(), e);
+        }
+        return toChatCompletion(body);
+    }
+
+    protected void recordUsage(Number promptTokenCount, Number completionTokenCount) {
+        if (promptTokenCount != null) promptTokens.record(promptTokenCount.doubleValue());
+        if (completionTokenCount != null) completionTokens.record(completionTokenCount.doubleValue());
+    }
+
+    // The timer thread only cancels; the failure itself is delivered on a client thread
+    protected void failAfterTotalTimeout(CompletableFuture<?> result, Runnable cancel) {
+        long timeout = config().getTotalTimeout().toMillis();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (result.isDone()) return;
+            cancel.run();
+            executor.execute(() -> result.completeExceptionally(
+                    new TimeoutException(getName() + " call exceeded " + timeout + "ms")));
+        }, timeout, TimeUnit.MILLISECONDS);
+        result.whenComplete((value, error) -> timer.cancel(false));
+    }
+
+    protected static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,232 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Append-only JSON-lines file behind {@link LlmResponseCache} and {@link
+ * AnalysisCache}. Callers serialize a record and hand it to one background
+ * writer, which writes whatever has queued up and flushes once per group, so
+ * no caller holds its own lock across disk I/O. Compaction runs on the same
+ * thread: it asks the owner for the live records, writes them to a temporary
+ * file and moves that over the journal. A record appended while a compaction
+ * is running lands in the new file, at worst twice; replay keeps the last
+ * line per key.
+ */
+final class JsonLinesJournal {
+    
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+    private static final Object COMPACT = new Object();
+    private static final Object CLOSE = new Object();
+    
+    private final String name;
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+    private long maxBytes;
+    private Supplier<? extends Collection<?>> liveRecords;
+    private Thread writerThread;
+    private boolean open;
+    
+    JsonLinesJournal(String name, Path path, ObjectMapper objectMapper) {
+        this.name = name;
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    // Parses every line of the file and returns how many were read; a torn last line after a crash is skipped
+    static int read(Path file, ObjectMapper objectMapper, Consumer<Map<String, Object>> consumer) throws IOException {
+        if (!Files.exists(file)) return 0;
+        int records = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    consumer.accept(objectMapper.readValue(line, JSON_MAP));
+                    records++;
+                } catch (Exception e) {
+                    // Unreadable or malformed record; skip it
+                }
+            }
+        }
+        return records;
+    }
+    
+    int replay(Consumer<Map<String, Object>> consumer) throws IOException {
+        return read(path, objectMapper, consumer);
+    }
+    
+    /**
+     * Starts the writer. The journal is compacted when asked to and whenever
+     * it grows past maxBytes (or twice its last compacted size, if larger).
+     * liveRecords runs on the writer thread and returns the records to keep,
+     * or null to leave the file as it is.
+     */
+    synchronized void open(long maxBytes, Supplier<? extends Collection<?>> liveRecords) throws IOException {
+        if (open) return;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BufferedWriter writer = openWriter();
+        this.maxBytes = maxBytes;
+        this.liveRecords = liveRecords;
+        writerThread = new Thread(() -> run(writer), name + "-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        open = true;
+    }
+    
+    synchronized boolean isOpen() {
+        return open;
+    }
+    
+    // Completes once the record is flushed to the OS, or at once if the journal is closed
+    CompletableFuture<Void> append(Object record) {
+        String line;
+        try {
+            line = objectMapper.writeValueAsString(record);
+        } catch (IOException e) {
+            return DONE;
+        }
+        Append append = new Append(line, new CompletableFuture<>());
+        synchronized (this) {
+            if (!open) return DONE;
+            pending.add(append);
+        }
+        return append.flushed();
+    }
+    
+    synchronized void compact() {
+        if (open) pending.add(COMPACT);
+    }
+    
+    // Writes what is already queued, then stops the writer
+    void close() {
+        Thread thread;
+        synchronized (this) {
+            if (!open) return;
+            open = false;
+            pending.add(CLOSE);
+            thread = writerThread;
+        }
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void run(BufferedWriter initial) {
+        BufferedWriter writer = initial;
+        List<Object> group = new ArrayList<>();
+        long size = sizeOf(path);
+        long compactAt = maxBytes;
+        try {
+            while (true) {
+                group.add(pending.take());
+                pending.drainTo(group);
+                boolean compact = false;
+                boolean close = false;
+                for (Object task : group) {
+                    if (task == COMPACT) {
+                        compact = true;
+                    } else if (task == CLOSE) {
+                        close = true;
+                    } else {
+                        String line = ((Append) task).line();
+                        writer.write(line);
+                        writer.newLine();
+                        size += line.length() + 1;
+                    }
+                }
+                writer.flush();
+                completeAll(group);
+                group.clear();
+                
+                // Every record in the group is already in the owner's state, so the snapshot covers it
+                if (compact || size > compactAt) {
+                    Collection<?> live = liveRecords.get();
+                    if (live != null && !(live.isEmpty() && size == 0)) {
+                        writer.close();
+                        size = rewrite(live);
+                        writer = openWriter();
+                    }
+                    compactAt = Math.max(maxBytes, size * 2);
+                }
+                if (close) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            System.err.println(name + " journal write failed, continuing without it: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                open = false;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Nothing left to flush to
+            }
+            // Nobody can enqueue once open is false; release whoever is waiting
+            completeAll(group);
+            List<Object> rest = new ArrayList<>();
+            pending.drainTo(rest);
+            completeAll(rest);
+        }
+    }
+    
+    private long rewrite(Collection<?> live) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        long size = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Object record : live) {
+                String line = objectMapper.writeValueAsString(record);
+                out.write(line);
+                out.newLine();
+                size += line.length() + 1;
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+    
+    private BufferedWriter openWriter() throws IOException {
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+    
+    private static void completeAll(List<Object> tasks) {
+        for (Object task : tasks) {
+            if (task instanceof Append append) append.flushed().complete(null);
+        }
+    }
+    
+    private record Append(String line, CompletableFuture<Void> flushed) {
+    }
+}
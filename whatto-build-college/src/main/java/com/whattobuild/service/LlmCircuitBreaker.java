@@ -0,0 +1,171 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmCircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker around the LLM path. CLOSED tracks a rolling window of call
+ * outcomes and opens when the failure or slow-call rate crosses its threshold;
+ * OPEN rejects calls until open-duration has passed; HALF_OPEN lets a few
+ * probes through and closes after enough of them succeed, or reopens on the
+ * first bad one. State is exported as the llm.circuit.state gauge,
+ * llm.circuit.transitions counters and the "llmCircuitBreaker" health detail.
+ */
+@Component
+public class LlmCircuitBreaker implements HealthIndicator {
+    
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+    
+    @Autowired
+    private LlmCircuitBreakerConfig breakerConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private State state = State.CLOSED;
+    private long openedAt;
+    
+    // Ring buffer of outcomes in CLOSED state
+    private boolean[] failed;
+    private boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    
+    private int probesInFlight;
+    private int probeSuccesses;
+    
+    @PostConstruct
+    public void init() {
+        failed = new boolean[Math.max(1, breakerConfig.getWindowSize())];
+        slow = new boolean[failed.length];
+        Gauge.builder("llm.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("LLM circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    // Returns false when the call must not be attempted; a true result must be followed by onResult or onIgnored
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < breakerConfig.getOpenDuration().toMillis()) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= breakerConfig.getHalfOpenProbes()) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+    
+    public synchronized void onResult(long durationMillis, boolean success) {
+        boolean isSlow = durationMillis > breakerConfig.getSlowCallDuration().toMillis();
+        
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (!success || isSlow) {
+                transition(State.OPEN);
+            } else if (++probeSuccesses >= breakerConfig.getHalfOpenProbes()) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) return;
+        
+        record(!success, isSlow);
+        if (recorded >= breakerConfig.getMinimumCalls()) {
+            double failureRate = (double) failures / recorded;
+            double slowRate = (double) slowCalls / recorded;
+            if (failureRate >= breakerConfig.getFailureRateThreshold()
+                    || slowRate >= breakerConfig.getSlowCallRateThreshold()) {
+                transition(State.OPEN);
+            }
+        }
+    }
+    
+    // The call never reached the upstream (e.g. bulkhead rejection); frees a half-open probe slot
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+    
+    @Override
+    public Health health() {
+        State current;
+        int calls;
+        int failureCount;
+        int slowCount;
+        synchronized (this) {
+            current = state;
+            calls = recorded;
+            failureCount = failures;
+            slowCount = slowCalls;
+        }
+        // An open breaker means degraded recommendations, not a down application
+        return Health.up()
+                .withDetail("state", current)
+                .withDetail("windowCalls", calls)
+                .withDetail("windowFailures", failureCount)
+                .withDetail("windowSlowCalls", slowCount)
+                .build();
+    }
+    
+    private void record(boolean isFailure, boolean isSlow) {
+        if (recorded == failed.length) {
+            if (failed[next]) failures--;
+            if (slow[next]) slowCalls--;
+        } else {
+            recorded++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        if (isFailure) failures++;
+        if (isSlow) slowCalls++;
+        next = (next + 1) % failed.length;
+    }
+    
+    private void transition(State to) {
+        State from = state;
+        if (from == to) return;
+        state = to;
+        
+        if (to == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        }
+        if (to == State.HALF_OPEN || to == State.CLOSED) {
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (to == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        
+        Counter.builder("llm.circuit.transitions")
+                .tag("from", from.name())
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+        System.out.println("LLM circuit breaker " + from + " -> " + to);
+    }
+}
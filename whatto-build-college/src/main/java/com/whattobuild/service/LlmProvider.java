@@ -0,0 +1,21 @@
+package com.whattobuild.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A chat completion backend. Requests and responses use the OpenAI chat
+ * completion shape ({@code messages}, {@code max_tokens}, {@code temperature}
+ * in; {@code choices[0].message.content} and {@code usage} out), so callers
+ * and the response cache don't care which provider answered. Implementations
+ * fail with {@link java.util.concurrent.RejectedExecutionException} when their
+ * bulkhead is full and complete their futures on their own client threads.
+ */
+public interface LlmProvider {
+    
+    String getName();
+    
+    boolean isConfigured();
+    
+    CompletableFuture<Map<String, Object>> chatCompletion(Map<String, Object> request);
+}
@@ -0,0 +1,183 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.LlmCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Persistent cache of raw chat completions keyed by a SHA-256 of
+ * (model, temperature, normalized prompt). Entries live in an LRU map bounded
+ * by max-entries and are journaled to an append-only JSON-lines file, which is
+ * replayed at startup and compacted once it exceeds max-file-size. Journal
+ * writes and compaction run on the {@link JsonLinesJournal} writer thread, so
+ * a lookup never waits on disk.
+ */
+@Component
+public class LlmResponseCache {
+
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+
+    @Autowired
+    private LlmCacheConfig cacheConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<String, Entry> entries;
+    private JsonLinesJournal journal;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("llm.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("llm.cache.requests").tag("result", "miss").register(meterRegistry);
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheConfig.getMaxEntries();
+            }
+        };
+        meterRegistry.gauge("llm.cache.size", this, cache -> cache.size());
+
+        if (!cacheConfig.isEnabled()) return;
+        journal = new JsonLinesJournal("llm-cache", Paths.get(cacheConfig.getPath()), objectMapper);
+        try {
+            warmUp();
+            journal.open(cacheConfig.getMaxFileSize().toBytes(), this::liveRecords);
+            journal.compact();
+        } catch (IOException e) {
+            System.err.println("LLM cache journal unavailable, caching in memory only: " + e.getMessage());
+        }
+    }
+
+    // Not synchronized: the writer takes the cache lock for its compaction snapshot
+    @PreDestroy
+    public void close() {
+        if (journal != null) journal.close();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Optional<Map<String, Object>> get(Map<String, Object> request) {
+        if (!cacheConfig.isEnabled()) return Optional.empty();
+
+        String key = keyFor(request);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && isExpired(entry.createdAt())) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        try {
+            Map<String, Object> completion = objectMapper.readValue(entry.completion(), JSON_MAP);
+            hits.increment();
+            return Optional.of(completion);
+        } catch (IOException e) {
+            misses.increment();
+            return Optional.empty();
+        }
+    }
+
+    public void put(Map<String, Object> request, Map<String, Object> completion) {
+        if (!cacheConfig.isEnabled()) return;
+
+        String key = keyFor(request);
+        Entry entry;
+        try {
+            entry = new Entry(System.currentTimeMillis(), objectMapper.writeValueAsString(completion));
+        } catch (IOException e) {
+            return;
+        }
+
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        if (journal != null) journal.append(record(key, entry));
+    }
+
+    // Key = SHA-256(model, temperature, role:content of every message with whitespace collapsed)
+    private String keyFor(Map<String, Object> request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(request.get("model")).append('\n');
+        canonical.append(request.get("temperature")).append('\n');
+        if (request.get("messages") instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Map<?, ?> m) {
+                    canonical.append(m.get("role")).append(':')
+                            .append(normalize(String.valueOf(m.get("content")))).append('\n');
+                }
+            }
+        }
+        return sha256(canonical.toString());
+    }
+
+    private static String normalize(String text) {
+        return text.strip().replaceAll("\\s+", " ");
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isExpired(long createdAt) {
+        return System.currentTimeMillis() - createdAt > cacheConfig.getTtl().toMillis();
+    }
+
+    // Replays the journal; later lines win, so the newest completion per key is kept
+    private void warmUp() throws IOException {
+        int loaded = journal.replay(record -> {
+            long createdAt = ((Number) record.get("createdAt")).longValue();
+            if (!isExpired(createdAt)) {
+                entries.put((String) record.get("key"), new Entry(createdAt, (String) record.get("completion")));
+            }
+        });
+        System.out.println("LLM cache warmed with " + entries.size() + " completions (" + loaded + " journal records)");
+    }
+
+    // Compaction snapshot, taken on the journal's writer thread; LRU order, so a replay restores it
+    private synchronized List<Map<String, Object>> liveRecords() {
+        List<Map<String, Object>> live = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> {
+            if (!isExpired(entry.createdAt())) live.add(record(key, entry));
+        });
+        return live;
+    }
+
+    private static Map<String, Object> record(String key, Entry entry) {
+        return Map.of("key", key, "createdAt", entry.createdAt(), "completion", entry.completion());
+    }
+
+    private record Entry(long createdAt, String completion) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmRouterConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes chat completions across the configured {@link LlmProvider}s. A
+ * provider takes part only if llm.router.providers lists it and it has a key.
+ * Providers are ordered by expected latency (EWMA latency inflated by EWMA
+ * error rate), so traffic drifts to whichever is currently faster and healthier.
+ * If the first provider hasn't answered within its p95 latency the request is
+ * hedged to the next one, and the first good response wins; a failure fails
+ * over immediately. Hedges are capped by a budget so a slow provider can't
+ * double the upstream load.
+ */
+@Component
+public class LlmRouter {
+    
+    @Autowired
+    private List<LlmProvider> providers;
+    
+    @Autowired
+    private LlmRouterConfig routerConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<String, ProviderStats> stats = new HashMap<>();
+    
+    private Counter hedges;
+    private Counter hedgeWins;
+    
+    // Hedge allowance: every request earns hedge-budget tokens, every hedge spends one
+    private double hedgeTokens;
+    
+    @PostConstruct
+    public void init() {
+        for (LlmProvider provider : providers) {
+            ProviderStats providerStats = new ProviderStats(routerConfig.getLatencySamples());
+            stats.put(provider.getName(), providerStats);
+            Gauge.builder("llm.provider.latency.ewma", providerStats, ProviderStats::ewmaLatencyMillis)
+                    .baseUnit("milliseconds")
+                    .tag("provider", provider.getName())
+                    .register(meterRegistry);
+            Gauge.builder("llm.provider.error.rate", providerStats, ProviderStats::ewmaErrorRate)
+                    .tag("provider", provider.getName())
+                    .register(meterRegistry);
+        }
+        hedges = Counter.builder("llm.router.hedges")
+                .description("Requests re-sent to a second provider because the first was slower than its p95")
+                .register(meterRegistry);
+        hedgeWins = Counter.builder("llm.router.hedge.wins")
+                .description("Hedged requests answered first by the second provider")
+                .register(meterRegistry);
+    }
+    
+    public boolean isAvailable() {
+        return providers.stream().anyMatch(this::isEnabled);
+    }
+    
+    // Listed in llm.router.providers and configured with a key
+    public boolean isEnabled(LlmProvider provider) {
+        return routerConfig.getProviders().contains(provider.getName()) && provider.isConfigured();
+    }
+    
+    public CompletableFuture<Map<String, Object>> chatCompletion(Map<String, Object> request) {
+        List<LlmProvider> ranked = rankedProviders();
+        if (ranked.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No LLM provider configured"));
+        }
+        
+        HedgedCall call = new HedgedCall(request, ranked);
+        call.launch(0, false);
+        
+        if (ranked.size() > 1 && routerConfig.isHedgingEnabled() && !call.result.isDone()) {
+            long delay = hedgeDelayMillis(ranked.get(0));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!call.result.isDone() && tryAcquireHedge() && call.launch(1, true)) {
+                    hedges.increment();
+                }
+            });
+        }
+        return call.result;
+    }
+    
+    // Configured providers, cheapest expected latency first; unmeasured ones keep the preferred order
+    private List<LlmProvider> rankedProviders() {
+        List<String> preferred = routerConfig.getPreferred();
+        List<LlmProvider> ranked = new ArrayList<>();
+        for (LlmProvider provider : providers) {
+            if (isEnabled(provider)) ranked.add(provider);
+        }
+        ranked.sort(Comparator
+                .comparingDouble((LlmProvider p) -> stats.get(p.getName()).expectedLatencyMillis(routerConfig.getMinSamples()))
+                .thenComparingInt(p -> preferred.contains(p.getName()) ? preferred.indexOf(p.getName()) : preferred.size()));
+        return ranked;
+    }
+    
+    private long hedgeDelayMillis(LlmProvider provider) {
+        long percentile = stats.get(provider.getName())
+                .percentileMillis(routerConfig.getHedgePercentile(), routerConfig.getMinSamples());
+        if (percentile < 0) {
+            return routerConfig.getDefaultHedgeDelay().toMillis();
+        }
+        return Math.max(percentile, routerConfig.getMinHedgeDelay().toMillis());
+    }
+    
+    private synchronized void earnHedgeToken() {
+        hedgeTokens = Math.min(10, hedgeTokens + routerConfig.getHedgeBudget());
+    }
+    
+    private synchronized boolean tryAcquireHedge() {
+        if (hedgeTokens < 1) return false;
+        hedgeTokens -= 1;
+        return true;
+    }
+    
+    private void record(LlmProvider provider, long startNanos, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        // A full local bulkhead says nothing about the provider's latency or health
+        if (cause instanceof RejectedExecutionException) return;
+        
+        long elapsedNanos = System.nanoTime() - startNanos;
+        stats.get(provider.getName()).record(TimeUnit.NANOSECONDS.toMillis(elapsedNanos), error == null,
+                routerConfig.getEwmaAlpha());
+        Timer.builder("llm.provider.requests")
+                .tag("provider", provider.getName())
+                .tag("outcome", error == null ? "success" : "error")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    // One logical request: the primary attempt plus at most one hedge or failover
+    private final class HedgedCall {
+        
+        final CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        private final Map<String, Object> request;
+        private final List<LlmProvider> ranked;
+        private final boolean[] launched;
+        private int outstanding;
+        
+        HedgedCall(Map<String, Object> request, List<LlmProvider> ranked) {
+            this.request = request;
+            this.ranked = ranked.subList(0, Math.min(2, ranked.size()));
+            this.launched = new boolean[this.ranked.size()];
+            earnHedgeToken();
+        }
+        
+        // False when the attempt was already made or the call is already answered
+        boolean launch(int index, boolean hedge) {
+            synchronized (this) {
+                if (index >= launched.length || launched[index] || result.isDone()) return false;
+                launched[index] = true;
+                outstanding++;
+            }
+            
+            LlmProvider provider = ranked.get(index);
+            long start = System.nanoTime();
+            provider.chatCompletion(request).whenComplete((response, error) -> {
+                record(provider, start, error);
+                if (error == null) {
+                    if (result.complete(response) && hedge) {
+                        hedgeWins.increment();
+                    }
+                } else {
+                    onFailure(error);
+                }
+            });
+            return true;
+        }
+        
+        private void onFailure(Throwable error) {
+            int next = -1;
+            synchronized (this) {
+                outstanding--;
+                for (int i = 0; i < launched.length; i++) {
+                    if (!launched[i]) {
+                        next = i;
+                        break;
+                    }
+                }
+                if (next < 0 && outstanding > 0) return;
+            }
+            if (next >= 0) {
+                // Fail over right away rather than waiting for the hedge timer
+                launch(next, false);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+    
+    private static final class ProviderStats {
+        
+        private final long[] latencies;
+        private int next;
+        private int count;
+        private int successes;
+        private double ewmaLatency = Double.NaN;
+        private double ewmaErrors;
+        
+        ProviderStats(int samples) {
+            latencies = new long[Math.max(1, samples)];
+        }
+        
+        synchronized void record(long millis, boolean success, double alpha) {
+            ewmaErrors = alpha * (success ? 0 : 1) + (1 - alpha) * ewmaErrors;
+            if (!success) return;
+            
+            ewmaLatency = Double.isNaN(ewmaLatency) ? millis : alpha * millis + (1 - alpha) * ewmaLatency;
+            latencies[next] = millis;
+            next = (next + 1) % latencies.length;
+            count = Math.min(count + 1, latencies.length);
+            successes++;
+        }
+        
+        // -1 until there are enough samples to trust
+        synchronized long percentileMillis(double percentile, int minSamples) {
+            if (count < Math.max(1, minSamples)) return -1;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+        
+        // Expected time to a good answer; 0 for unmeasured providers so they get tried
+        synchronized double expectedLatencyMillis(int minSamples) {
+            if (successes < Math.max(1, minSamples) && ewmaErrors == 0) return 0;
+            if (Double.isNaN(ewmaLatency)) return Double.MAX_VALUE;
+            return ewmaLatency / Math.max(0.05, 1 - ewmaErrors);
+        }
+        
+        synchronized double ewmaLatencyMillis() {
+            return Double.isNaN(ewmaLatency) ? 0 : ewmaLatency;
+        }
+        
+        synchronized double ewmaErrorRate() {
+            return ewmaErrors;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.whattobuild.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects submitted items for a short window and hands them to the flusher
+ * as one batch; a batch that reaches max size is flushed at once. The flusher
+ * must complete every entry's future. If it throws, the whole batch fails
+ * with that exception.
+ */
+public final class MicroBatcher<T, R> {
+    
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Consumer<List<Entry<T, R>>> flusher;
+    
+    private List<Entry<T, R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> timer;
+    
+    public MicroBatcher(ScheduledExecutorService scheduler, long windowMillis, int maxBatchSize,
+                        Consumer<List<Entry<T, R>>> flusher) {
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flusher = flusher;
+    }
+    
+    public CompletableFuture<R> submit(T item) {
+        Entry<T, R> entry = new Entry<>(item);
+        List<Entry<T, R>> full = null;
+        synchronized (this) {
+            pending.add(entry);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (timer == null) {
+                timer = scheduler.schedule(this::flushPending, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            List<Entry<T, R>> batch = full;
+            scheduler.execute(() -> flush(batch));
+        }
+        return entry.future;
+    }
+    
+    private List<Entry<T, R>> takePending() {
+        List<Entry<T, R>> batch = pending;
+        pending = new ArrayList<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+    
+    private void flushPending() {
+        List<Entry<T, R>> batch;
+        synchronized (this) {
+            timer = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+    
+    private void flush(List<Entry<T, R>> batch) {
+        try {
+            flusher.accept(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(entry -> entry.future.completeExceptionally(e));
+        }
+    }
+    
+    public static final class Entry<T, R> {
+        private final T item;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        
+        private Entry(T item) {
+            this.item = item;
+        }
+        
+        public T getItem() {
+            return item;
+        }
+        
+        public CompletableFuture<R> getFuture() {
+            return future;
+        }
+    }
+}
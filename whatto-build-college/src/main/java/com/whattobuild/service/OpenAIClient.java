@@ -0,0 +1,150 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmProviderConfig;
+import com.whattobuild.config.OpenAIConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking client for the OpenAI chat completions endpoint. Requests and
+ * responses already have the shape callers use; bulkhead, timeouts and
+ * threading come from {@link HttpLlmClient}. Streamed bodies are read on a
+ * separate pool, so a long stream never holds a thread that the HTTP client,
+ * plain completions or callers depend on.
+ */
+@Component
+public class OpenAIClient extends HttpLlmClient {
+
+    @Autowired
+    private OpenAIConfig openAIConfig;
+
+    private ExecutorService streamExecutor;
+
+    @Override
+    public void init() {
+        super.init();
+        // One reader per open stream at most, since every stream holds a bulkhead permit
+        streamExecutor = pool(getName() + "-stream", Math.max(1, openAIConfig.getMaxConcurrentRequests()));
+    }
+
+    @Override
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+        super.shutdown();
+    }
+
+    @Override
+    public String getName() {
+        return "openai";
+    }
+
+    @Override
+    protected LlmProviderConfig config() {
+        return openAIConfig;
+    }
+
+    /**
+     * Streams a completion ({@code stream: true}), handing each content delta to
+     * {@code onContent} on a stream reader thread as the server-sent events
+     * arrive. The future completes on that thread once the stream ends with
+     * {@code [DONE]} or closes.
+     */
+    public CompletableFuture<Void> streamChatCompletion(Map<String, Object> request, Consumer<String> onContent) {
+        if (!tryAcquireCall()) {
+            return CompletableFuture.failedFuture(bulkheadFull());
+        }
+
+        Map<String, Object> streamingRequest = new HashMap<>(request);
+        streamingRequest.put("stream", true);
+
+        CompletableFuture<HttpResponse<Stream<String>>> exchange;
+        try {
+            exchange = httpClient.sendAsync(buildRequest(streamingRequest), HttpResponse.BodyHandlers.ofLines());
+        } catch (Exception e) {
+            releaseCall();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        exchange.whenCompleteAsync((response, error) -> {
+            try {
+                if (error != null) {
+                    result.completeExceptionally(unwrap(error));
+                    return;
+                }
+                try (Stream<String> lines = response.body()) {
+                    if (response.statusCode() != 200) {
+                        throw httpError(response.statusCode());
+                    }
+                    Iterator<String> it = lines.iterator();
+                    // A timed-out result stops the loop even if the server keeps sending
+                    while (!result.isDone() && it.hasNext()) {
+                        String line = it.next();
+                        if (!line.startsWith("data:")) continue;
+                        String data = line.substring(5).trim();
+                        if (data.equals("[DONE]")) break;
+                        String delta = readDelta(data);
+                        if (delta != null && !delta.isEmpty()) {
+                            onContent.accept(delta);
+                        }
+                    }
+                    result.complete(null);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            } finally {
+                releaseCall();
+            }
+        }, streamExecutor);
+        // Closing the body unblocks the reader if it is still waiting for lines
+        failAfterTotalTimeout(result, () -> {
+            exchange.thenAccept(response -> response.body().close());
+            exchange.cancel(true);
+        });
+        return result;
+    }
+
+    // choices[0].delta.content of one streamed chunk
+    private String readDelta(String data) {
+        try {
+            Map<String, Object> chunk = objectMapper.readValue(data, JSON_MAP);
+            if (chunk.get("choices") instanceof List<?> choices && !choices.isEmpty()
+                    && choices.get(0) instanceof Map<?, ?> choice
+                    && choice.get("delta") instanceof Map<?, ?> delta
+                    && delta.get("content") instanceof String content) {
+                return content;
+            }
+        } catch (Exception e) {
+            // Keep-alive comments and malformed chunks carry no content
+        }
+        return null;
+    }
+
+    @Override
+    protected HttpRequest buildRequest(Map<String, Object> request) throws Exception {
+        return post(openAIConfig.getBaseUrl() + "/chat/completions", request)
+                .header("Authorization", "Bearer " + openAIConfig.getKey())
+                .build();
+    }
+
+    // Already OpenAI-shaped; only the usage is read
+    @Override
+    protected Map<String, Object> toChatCompletion(Map<String, Object> body) {
+        if (body.get("usage") instanceof Map<?, ?> counts) {
+            recordUsage(counts.get("prompt_tokens") instanceof Number prompt ? prompt : null,
+                    counts.get("completion_tokens") instanceof Number completion ? completion : null);
+        }
+        return body;
+    }
+}
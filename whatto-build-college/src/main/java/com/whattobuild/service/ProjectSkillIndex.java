@@ -0,0 +1,141 @@
+package com.whattobuild.service;
+
+import com.whattobuild.model.Project;
+import com.whattobuild.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory inverted index from skill to the available projects that require it.
+ * The index is built lazily from the AVAILABLE catalog and rebuilt after any
+ * catalog change (see {@link #invalidate()}).
+ */
+@Component
+public class ProjectSkillIndex {
+
+    private static final int[] NO_POSTINGS = new int[0];
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    // Bumped on every catalog change; part of any key derived from the catalog
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    @Transactional(readOnly = true)
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = build(projectRepository.findByStatus(Project.Status.AVAILABLE));
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Called after admin edits so the next request sees the new catalog
+    public void invalidate() {
+        synchronized (this) {
+            catalogVersion.incrementAndGet();
+            snapshot = null;
+        }
+    }
+
+    private Snapshot build(List<Project> projects) {
+        Map<String, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            Project project = projects.get(i);
+            List<String> skills = project.getSkills();
+            project.setSkillBits(skillDictionary.encode(skills));
+            if (skills == null) continue;
+            for (String skill : skills) {
+                List<Integer> list = postings.computeIfAbsent(skill, k -> new ArrayList<>());
+                // Skills may repeat within a project; keep each posting list duplicate-free
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+        }
+
+        Map<String, int[]> compact = new HashMap<>(postings.size() * 2);
+        postings.forEach((skill, ids) -> compact.put(skill, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new Snapshot(catalogVersion.get(), List.copyOf(projects), compact);
+    }
+
+    /**
+     * Immutable view of the indexed catalog. Project positions are stable for
+     * the lifetime of a snapshot, so posting lists hold plain int offsets.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<Project> projects;
+        private final Map<String, int[]> postings;
+        private final Map<Long, Project> byId;
+
+        private Snapshot(long version, List<Project> projects, Map<String, int[]> postings) {
+            this.version = version;
+            this.projects = projects;
+            this.postings = postings;
+            this.byId = new HashMap<>(projects.size() * 2);
+            for (Project project : projects) {
+                byId.put(project.getId(), project);
+            }
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Project> getProjects() {
+            return projects;
+        }
+
+        // Null if the project isn't in this snapshot
+        public Project project(Long id) {
+            return byId.get(id);
+        }
+
+        public int[] postings(String skill) {
+            return postings.getOrDefault(skill, NO_POSTINGS);
+        }
+
+        /**
+         * Projects sharing at least one skill with either collection, in catalog order.
+         * Projects outside this set can neither overlap with the student's skills
+         * nor pass the branch check; only {@link ProjectVectorIndex} can still surface them.
+         */
+        public List<Project> candidates(Collection<String> studentSkills, Collection<String> branchSkills) {
+            BitSet hits = new BitSet(projects.size());
+            mark(hits, studentSkills);
+            mark(hits, branchSkills);
+
+            List<Project> candidates = new ArrayList<>(hits.cardinality());
+            for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+                candidates.add(projects.get(i));
+            }
+            return candidates;
+        }
+
+        private void mark(BitSet hits, Collection<String> skills) {
+            if (skills == null) return;
+            for (String skill : skills) {
+                for (int id : postings(skill)) {
+                    hits.set(id);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.SemanticMatchConfig;
+import com.whattobuild.model.Project;
+import com.whattobuild.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate nearest-neighbour index over embeddings of the available
+ * projects' name, description and skills. A student's skills and branch are
+ * embedded the same way, so a lookup finds projects whose text is close to
+ * the profile even when none of their skill tags match. Built lazily from the
+ * {@link ProjectSkillIndex} catalog and kept current by the admin edits; the
+ * graph is rebuilt once removed projects outnumber half the live ones.
+ */
+@Component
+public class ProjectVectorIndex {
+    
+    @Autowired
+    private ProjectSkillIndex projectSkillIndex;
+    
+    @Autowired
+    private TextEmbedder textEmbedder;
+    
+    @Autowired
+    private SemanticMatchConfig semanticConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Searches share the graph; inserts, removals and rebuilds take it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private HnswIndex index;
+    private volatile boolean loaded;
+    private Timer searchTimer;
+    
+    @PostConstruct
+    public void init() {
+        index = newIndex();
+        searchTimer = Timer.builder("semantic.search.duration")
+                .description("Nearest-project lookups in the HNSW index")
+                .register(meterRegistry);
+        meterRegistry.gauge("semantic.index.projects", this, vectors -> vectors.size());
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Called after an admin save; projects that are no longer available leave the index
+    public void upsert(Project project) {
+        if (!semanticConfig.isEnabled() || project.getId() == null) return;
+        ensureLoaded();
+        float[] vector = project.getStatus() == Project.Status.AVAILABLE ? textEmbedder.embed(textOf(project)) : null;
+        lock.writeLock().lock();
+        try {
+            if (vector == null) {
+                index.remove(project.getId());
+                compactIfNeeded();
+            } else {
+                // Re-adding an existing project tombstones its old node, so edits count toward compaction too
+                index.add(project.getId(), vector);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long projectId) {
+        if (!semanticConfig.isEnabled() || !loaded) return;
+        lock.writeLock().lock();
+        try {
+            index.remove(projectId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Project id to cosine similarity for the projects closest to the student's profile, closest first
+    public Map<Long, Double> nearest(User user, int k) {
+        if (!semanticConfig.isEnabled() || k <= 0) return Map.of();
+        ensureLoaded();
+        float[] query = textEmbedder.embed(queryOf(user));
+        if (query == null) return Map.of();
+        
+        long start = System.nanoTime();
+        List<Map.Entry<Long, Double>> found;
+        lock.readLock().lock();
+        try {
+            found = index.search(query, k, Math.max(k, semanticConfig.getEfSearch()));
+        } finally {
+            lock.readLock().unlock();
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        
+        Map<Long, Double> neighbours = new LinkedHashMap<>();
+        for (Map.Entry<Long, Double> entry : found) {
+            if (entry.getValue() >= semanticConfig.getMinSimilarity()) {
+                neighbours.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return neighbours;
+    }
+    
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            long start = System.nanoTime();
+            HnswIndex built = newIndex();
+            for (Project project : projectSkillIndex.getSnapshot().getProjects()) {
+                float[] vector = textEmbedder.embed(textOf(project));
+                if (vector != null) built.add(project.getId(), vector);
+            }
+            lock.writeLock().lock();
+            try {
+                index = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded = true;
+            System.out.println("Project vector index built for " + built.size() + " projects in "
+                    + (System.nanoTime() - start) / 1_000_000 + "ms");
+        }
+    }
+    
+    // Tombstones still cost search steps; re-insert the live vectors into a fresh graph
+    private void compactIfNeeded() {
+        if (index.deletedCount() <= Math.max(16, index.size() / 2)) return;
+        HnswIndex rebuilt = newIndex();
+        index.liveVectors().forEach(rebuilt::add);
+        index = rebuilt;
+    }
+    
+    private HnswIndex newIndex() {
+        return new HnswIndex(semanticConfig.getHnswM(), semanticConfig.getEfConstruction());
+    }
+    
+    private static String textOf(Project project) {
+        StringBuilder text = new StringBuilder();
+        if (project.getName() != null) text.append(project.getName()).append(' ');
+        if (project.getDescription() != null) text.append(project.getDescription()).append(' ');
+        if (project.getSkills() != null) text.append(String.join(" ", project.getSkills()));
+        return text.toString();
+    }
+    
+    private static String queryOf(User user) {
+        StringBuilder text = new StringBuilder();
+        if (user.getSkills() != null) text.append(String.join(" ", user.getSkills())).append(' ');
+        if (user.getBranch() != null) text.append(user.getBranch());
+        return text.toString();
+    }
+}
@@ -0,0 +1,307 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmBatchConfig;
+import com.whattobuild.config.PromptConfig;
+import com.whattobuild.model.Project;
+import com.whattobuild.model.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the recommendation prompt from a pre-ranked candidate list, adding
+ * projects best-first until the estimated token budget is reached.
+ * Descriptions are truncated and skill lists de-duplicated so each project
+ * costs as few tokens as possible. Batch prompts describe the union of
+ * several students' shortlists once and let each student refer to it by number.
+ */
+@Component
+public class PromptBuilder {
+    
+    public static final String SYSTEM_MESSAGE = "You are an expert career advisor for college students. Provide personalized project recommendations with match scores, reasoning, resume points, and learning plans.";
+    
+    private static final String INSTRUCTIONS = "Please recommend the top 3-5 projects for this student with:\n" +
+            "1. Match score (0-100%)\n" +
+            "2. Detailed reasoning\n" +
+            "3. Resume points they can highlight\n" +
+            "4. Step-by-step learning plan\n" +
+            "Format as JSON with project names as keys.";
+    
+    // Line format lets the streaming parser emit each project as soon as its line is complete
+    private static final String STREAMING_INSTRUCTIONS = "Please rank the projects that suit this student best, at most 5.\n" +
+            "Write exactly one line per project and nothing else, in this format:\n" +
+            "<number>. <project name> | <match score 0-100> | <one or two sentences of reasoning>";
+    
+    // Same line format per student, under a "### S<n>" header the batch parser splits on
+    private static final String BATCH_INSTRUCTIONS = "For each student above, write a header line \"### S<n>\" with their label, " +
+            "then rank that student's candidate projects that suit them best, at most 5.\n" +
+            "Under each header write exactly one line per project and nothing else, in this format:\n" +
+            "<number>. <project name> | <match score 0-100> | <one or two sentences of reasoning>\n" +
+            "Use the project numbers from Available Projects.";
+    
+    @Autowired
+    private PromptConfig promptConfig;
+    
+    @Autowired
+    private LlmBatchConfig batchConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private DistributionSummary promptChars;
+    private DistributionSummary promptTokens;
+    private DistributionSummary promptProjects;
+    
+    @PostConstruct
+    public void init() {
+        promptChars = DistributionSummary.builder("llm.prompt.chars")
+                .description("Characters sent to the model per recommendation prompt")
+                .baseUnit("chars")
+                .register(meterRegistry);
+        promptTokens = DistributionSummary.builder("llm.prompt.tokens.estimated")
+                .description("Estimated prompt tokens per recommendation prompt")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+        promptProjects = DistributionSummary.builder("llm.prompt.projects")
+                .description("Projects included per recommendation prompt")
+                .register(meterRegistry);
+    }
+    
+    // Rough GPT tokenizer ratio for English text; good enough for budgeting
+    public static int estimateTokens(CharSequence text) {
+        return (text.length() + 3) / 4;
+    }
+    
+    public Prompt build(User user, List<Project> rankedCandidates) {
+        return build(user, rankedCandidates, INSTRUCTIONS);
+    }
+    
+    public Prompt buildForStreaming(User user, List<Project> rankedCandidates) {
+        return build(user, rankedCandidates, STREAMING_INSTRUCTIONS);
+    }
+    
+    private Prompt build(User user, List<Project> rankedCandidates, String instructions) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Student Profile:\n");
+        appendLine(prompt, "- Name: ", user.getName());
+        appendLine(prompt, "- Branch: ", user.getBranch());
+        appendLine(prompt, "- Skills: ", String.join(", ", SkillDictionary.canonicalize(user.getSkills())));
+        appendLine(prompt, "- GitHub: ", user.getGithubUsername());
+        prompt.append("\nAvailable Projects:\n");
+        
+        int fixedTokens = estimateTokens(SYSTEM_MESSAGE) + estimateTokens(instructions);
+        int budget = promptConfig.getTokenBudget();
+        List<Project> included = new ArrayList<>();
+        StringBuilder entry = new StringBuilder();
+        
+        for (Project project : rankedCandidates) {
+            entry.setLength(0);
+            appendProject(entry, included.size() + 1, project);
+            if (!included.isEmpty() && fixedTokens + estimateTokens(prompt) + estimateTokens(entry) > budget) {
+                break;
+            }
+            prompt.append(entry);
+            included.add(project);
+        }
+        
+        prompt.append(instructions);
+        
+        String text = prompt.toString();
+        int tokens = estimateTokens(SYSTEM_MESSAGE) + estimateTokens(text);
+        promptChars.record(SYSTEM_MESSAGE.length() + text.length());
+        promptTokens.record(tokens);
+        promptProjects.record(included.size());
+        return new Prompt(text, included, tokens);
+    }
+    
+    /**
+     * One prompt for several students. Students are added in order while the
+     * shared project block and their profile fit the batch token budget; the
+     * first student is always included, trimmed to fit if necessary. Students
+     * that don't fit are left out and reported by {@link BatchPrompt#getStudents()}.
+     */
+    public BatchPrompt buildBatch(List<User> users, List<List<Project>> shortlists) {
+        int fixedTokens = estimateTokens(SYSTEM_MESSAGE) + estimateTokens(BATCH_INSTRUCTIONS)
+                + estimateTokens("Available Projects:\n\nStudents:\n");
+        int budget = batchConfig.getTokenBudget();
+        
+        StringBuilder catalog = new StringBuilder();
+        StringBuilder students = new StringBuilder();
+        List<Project> projects = new ArrayList<>();
+        Map<Long, Integer> numbers = new HashMap<>();
+        List<Integer> included = new ArrayList<>();
+        List<List<Project>> candidates = new ArrayList<>();
+        StringBuilder entries = new StringBuilder();
+        StringBuilder entry = new StringBuilder();
+        
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            boolean first = included.isEmpty();
+            entries.setLength(0);
+            List<Project> added = new ArrayList<>();
+            List<Project> offered = new ArrayList<>();
+            List<Integer> refs = new ArrayList<>();
+            
+            for (Project project : shortlists.get(i)) {
+                Integer number = numbers.get(project.getId());
+                if (number != null) {
+                    offered.add(project);
+                    refs.add(number);
+                    continue;
+                }
+                entry.setLength(0);
+                number = projects.size() + added.size() + 1;
+                appendProject(entry, number, project);
+                // Only the first student may be trimmed; later ones go whole or wait for the next batch
+                if (first && !offered.isEmpty() && fixedTokens + estimateTokens(catalog) + estimateTokens(entries)
+                        + estimateTokens(entry) > budget) {
+                    break;
+                }
+                entries.append(entry);
+                added.add(project);
+                offered.add(project);
+                refs.add(number);
+            }
+            
+            String profile = studentBlock(included.size() + 1, user, refs);
+            if (!first && fixedTokens + estimateTokens(catalog) + estimateTokens(entries)
+                    + estimateTokens(students) + estimateTokens(profile) > budget) {
+                continue;
+            }
+            
+            for (Project project : added) {
+                numbers.put(project.getId(), projects.size() + 1);
+                projects.add(project);
+            }
+            catalog.append(entries);
+            students.append(profile);
+            included.add(i);
+            candidates.add(offered);
+        }
+        
+        String text = "Available Projects:\n" + catalog + "Students:\n" + students + "\n" + BATCH_INSTRUCTIONS;
+        int tokens = estimateTokens(SYSTEM_MESSAGE) + estimateTokens(text);
+        promptChars.record(SYSTEM_MESSAGE.length() + text.length());
+        promptTokens.record(tokens);
+        promptProjects.record(projects.size());
+        return new BatchPrompt(text, projects, included, candidates, tokens);
+    }
+    
+    // "S<n>" label, profile and the catalog numbers of this student's candidates
+    private static String studentBlock(int label, User user, List<Integer> candidateNumbers) {
+        StringBuilder out = new StringBuilder();
+        out.append("S").append(label).append(":\n");
+        appendLine(out, "- Branch: ", user.getBranch());
+        appendLine(out, "- Skills: ", String.join(", ", SkillDictionary.canonicalize(user.getSkills())));
+        out.append("- Candidate projects: ");
+        for (int i = 0; i < candidateNumbers.size(); i++) {
+            if (i > 0) out.append(", ");
+            out.append(candidateNumbers.get(i));
+        }
+        out.append("\n");
+        return out.toString();
+    }
+    
+    private void appendProject(StringBuilder out, int number, Project project) {
+        out.append(number).append(". ").append(project.getName()).append("\n");
+        String description = truncate(project.getDescription(), promptConfig.getMaxDescriptionChars());
+        if (!description.isEmpty()) {
+            out.append("   Description: ").append(description).append("\n");
+        }
+        out.append("   Difficulty: ").append(project.getDifficulty()).append("\n");
+        out.append("   Skills: ").append(String.join(", ", SkillDictionary.canonicalize(project.getSkills()))).append("\n");
+        if (project.getEstimatedHours() != null) {
+            out.append("   Hours: ").append(project.getEstimatedHours()).append("\n");
+        }
+        out.append("\n");
+    }
+    
+    private static void appendLine(StringBuilder out, String label, String value) {
+        if (value != null && !value.isBlank()) {
+            out.append(label).append(value).append("\n");
+        }
+    }
+    
+    private static String truncate(String text, int maxChars) {
+        if (text == null) return "";
+        String trimmed = text.strip();
+        if (trimmed.length() <= maxChars) return trimmed;
+        
+        int cut = trimmed.lastIndexOf(' ', maxChars);
+        return trimmed.substring(0, cut > maxChars / 2 ? cut : maxChars).stripTrailing() + "...";
+    }
+    
+    public static final class Prompt {
+        
+        private final String text;
+        private final List<Project> projects;
+        private final int estimatedTokens;
+        
+        Prompt(String text, List<Project> projects, int estimatedTokens) {
+            this.text = text;
+            this.projects = List.copyOf(projects);
+            this.estimatedTokens = estimatedTokens;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        // Projects actually present in the prompt, best-ranked first
+        public List<Project> getProjects() {
+            return projects;
+        }
+        
+        public int getEstimatedTokens() {
+            return estimatedTokens;
+        }
+    }
+    
+    public static final class BatchPrompt {
+        
+        private final String text;
+        private final List<Project> projects;
+        private final List<Integer> students;
+        private final List<List<Project>> candidates;
+        private final int estimatedTokens;
+        
+        BatchPrompt(String text, List<Project> projects, List<Integer> students,
+                    List<List<Project>> candidates, int estimatedTokens) {
+            this.text = text;
+            this.projects = List.copyOf(projects);
+            this.students = List.copyOf(students);
+            this.candidates = candidates.stream().map(List::copyOf).toList();
+            this.estimatedTokens = estimatedTokens;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        // The shared numbered project block, in prompt order
+        public List<Project> getProjects() {
+            return projects;
+        }
+        
+        // Indexes into the input lists of the students in the prompt; section S<k> is students.get(k - 1)
+        public List<Integer> getStudents() {
+            return students;
+        }
+        
+        // Candidate projects offered to section S<k>, at index k - 1
+        public List<List<Project>> getCandidates() {
+            return candidates;
+        }
+        
+        public int getEstimatedTokens() {
+            return estimatedTokens;
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.whattobuild.service;
 
+import com.whattobuild.config.RecommendationDetailsConfig;
+import com.whattobuild.config.WriteBehindConfig;
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.dto.RecommendationResult;
 import com.whattobuild.model.Project;
 import com.whattobuild.model.Recommendation;
 import com.whattobuild.model.User;
-import com.whattobuild.repository.ProjectRepository;
 import com.whattobuild.repository.RecommendationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 public class RecommendService {
@@ -20,45 +32,129 @@ public class RecommendService {
     private AIService aiService;
     
     @Autowired
-    private ProjectRepository projectRepository;
+    private ProjectSkillIndex projectSkillIndex;
+    
+    @Autowired
+    private RecommendationCache recommendationCache;
     
     @Autowired
     private RecommendationRepository recommendationRepository;
     
-    public List<Map<String, Object>> generateRecommendations(Long studentId, String branch, List<String> skills) {
-        // Get available projects
-        List<Project> availableProjects = projectRepository.findByStatus(Project.Status.AVAILABLE);
+    @Autowired
+    private RecommendationDetailsConfig detailsConfig;
+    
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+    
+    @Autowired
+    private RecommendationIdIndex recommendationIdIndex;
+    
+    @Autowired
+    private RecommendationDetailsService recommendationDetailsService;
+    
+    @Autowired
+    private WriteBehindConfig writeBehindConfig;
+    
+    // Persists LLM results; the futures complete on LLM client threads, which must not wait on the database
+    private ExecutorService persistExecutor;
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        persistExecutor = Executors.newFixedThreadPool(Math.max(1, writeBehindConfig.getPersistThreads()), r -> {
+            Thread thread = new Thread(r, "recommend-persist-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        persistExecutor.shutdown();
+    }
+    
+    // limit keeps only the top-K matches; AIService.NO_LIMIT returns all of them
+    public CompletableFuture<List<RecommendationResult>> generateRecommendations(Long studentId, String branch, List<String> skills, int limit) {
+        // Get available projects from the in-memory skill index
+        ProjectSkillIndex.Snapshot catalog = projectSkillIndex.getSnapshot();
+        List<String> canonicalSkills = SkillDictionary.canonicalize(skills);
         
         // Create temporary user object for AI analysis
         User tempUser = new User();
         tempUser.setId(studentId);
         tempUser.setBranch(branch);
-        tempUser.setSkills(skills);
+        tempUser.setSkills(canonicalSkills);
+        
+        // Get AI recommendations, shared across students with the same profile
+        return recommendationCache.get(branch, canonicalSkills, catalog.getVersion(), limit,
+                        () -> aiService.recommendProjects(tempUser, catalog, limit))
+                .thenApplyAsync(aiRecommendations -> saveRecommendations(studentId, aiRecommendations), persistExecutor);
+    }
+    
+    /**
+     * Streaming variant: persists the local ranking and hands it to onLocal right away,
+     * then forwards LLM refinements as they arrive. The future completes when the model is done.
+     */
+    public CompletableFuture<Void> streamRecommendations(Long studentId, String branch, List<String> skills, int limit,
+                                                         Consumer<List<RecommendationResult>> onLocal,
+                                                         Consumer<RecommendationRefinement> onRefinement) {
+        ProjectSkillIndex.Snapshot catalog = projectSkillIndex.getSnapshot();
+        
+        User tempUser = new User();
+        tempUser.setId(studentId);
+        tempUser.setBranch(branch);
+        tempUser.setSkills(SkillDictionary.canonicalize(skills));
         
-        // Get AI recommendations
-        List<Map<String, Object>> aiRecommendations = aiService.recommendProjects(tempUser, availableProjects);
+        // Persisted first so the event carries recommendation ids for the details endpoint
+        List<RecommendationResult> local = saveRecommendations(studentId, aiService.rankLocally(tempUser, catalog, limit));
+        onLocal.accept(local);
+        
+        return aiService.streamRefinements(tempUser, catalog, onRefinement);
+    }
+    
+    // Returns the recommendations as persisted for this student, carrying their ids. In lazy mode only
+    // ids and scores (plus any model-written reasoning) are stored and template text is left to the details endpoint.
+    // There is one row per (student, project): a project recommended before keeps its id and gets the new
+    // score, new ones get a reserved id, all without a database round trip (see RecommendationIdIndex).
+    // The rows themselves are upserted by the write-behind queue.
+    private List<RecommendationResult> saveRecommendations(Long studentId, List<RecommendationResult> aiRecommendations) {
+        boolean lazy = detailsConfig.isLazy();
+        LocalDateTime now = LocalDateTime.now();
+        List<Recommendation> rows = new ArrayList<>(aiRecommendations.size());
         
         // Save recommendations to database
-        for (Map<String, Object> rec : aiRecommendations) {
-            Project project = (Project) rec.get("project");
-            Double matchScore = (Double) rec.get("matchScore");
-            String resumePoints = (String) rec.get("resumePoints");
-            String learningPlan = (String) rec.get("learningPlan");
+        for (RecommendationResult rec : aiRecommendations) {
+            Project project = rec.getProject();
             
             Recommendation recommendation = new Recommendation();
             recommendation.setProjectId(project.getId());
             recommendation.setStudentId(studentId);
-            recommendation.setMatchScore(matchScore);
-            recommendation.setResumePoints(resumePoints);
-            recommendation.setLearningPlan(learningPlan);
-            recommendation.setReasoning((String) rec.get("reasoning"));
+            recommendation.setMatchScore(rec.getMatchScore());
+            if (!lazy) {
+                recommendation.setResumePoints(rec.getResumePoints());
+                recommendation.setLearningPlan(rec.getLearningPlan());
+            }
+            if (!lazy || rec.hasAuthoredReasoning()) {
+                recommendation.setReasoning(rec.getReasoning());
+            }
             recommendation.setStatus(Recommendation.Status.ACTIVE);
-            recommendation.setCreatedAt(LocalDateTime.now());
+            recommendation.setCreatedAt(now);
+            recommendation.setUpdatedAt(now);
             
-            recommendationRepository.save(recommendation);
+            rows.add(recommendation);
         }
         
-        return aiRecommendations;
+        Map<Long, Long> ids = recommendationIdIndex.assign(studentId,
+                rows.stream().map(Recommendation::getProjectId).toList());
+        List<RecommendationResult> persisted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setId(ids.get(rows.get(i).getProjectId()));
+            persisted.add(aiRecommendations.get(i).persistedAs(rows.get(i).getId(), lazy));
+        }
+        writeBehindQueue.submitRecommendations(rows);
+        // Reused ids get new text; evicting a new id is a no-op
+        recommendationDetailsService.evict(ids.values());
+        return persisted;
     }
     
     public List<Recommendation> getStudentRecommendations(Long studentId) {
@@ -79,7 +175,7 @@ public class RecommendService {
         });
     }
     
-    public Map<String, Object> analyzeRepository(String repoUrl, Long studentId) {
+    public Map<String, Object> analyzeRepository(String repoUrl, Long studentId) throws IOException {
         // Get student info
         User student = new User(); // In real app, get from UserRepository
         student.setId(studentId);
@@ -0,0 +1,77 @@
+package com.whattobuild.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.whattobuild.config.RecommendationCacheConfig;
+import com.whattobuild.dto.RecommendationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caches ranked recommendations by profile rather than by student: many
+ * students share a branch and skill set. The catalog version is part of the
+ * key, so admin edits make old entries unreachable and they age out.
+ * Concurrent misses for the same key share one computation (and so one LLM
+ * call). Fallback results stand in for a late or failed LLM answer and are
+ * not cached, so the next request gets another chance at the real one.
+ * Hit/miss/eviction counters are published as the "recommendations"
+ * cache metrics on the actuator.
+ */
+@Component
+public class RecommendationCache {
+    
+    @Autowired
+    private RecommendationCacheConfig cacheConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final SingleFlight<Key, List<RecommendationResult>> inFlight = new SingleFlight<>();
+    
+    private Cache<Key, List<RecommendationResult>> cache;
+    
+    private Counter coalescedRequests;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getMaxSize())
+                .expireAfterWrite(cacheConfig.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recommendations");
+        coalescedRequests = Counter.builder("recommendations.coalesced")
+                .description("Recommendation requests that joined an identical in-flight computation")
+                .register(meterRegistry);
+    }
+    
+    // skills must already be canonical (see SkillDictionary.canonicalize)
+    public CompletableFuture<List<RecommendationResult>> get(String branch, List<String> skills, long catalogVersion, int limit,
+                                                             Supplier<CompletableFuture<List<RecommendationResult>>> loader) {
+        Key key = new Key(branch, skills, catalogVersion, limit);
+        if (cacheConfig.isEnabled()) {
+            List<RecommendationResult> cached = cache.getIfPresent(key);
+            if (cached != null) return CompletableFuture.completedFuture(cached);
+        }
+        
+        // Coalesce outside Caffeine's compute so a slow LLM call doesn't hold a cache bin lock
+        return inFlight.execute(key, () -> loader.get().thenApply(loaded -> {
+            List<RecommendationResult> results = List.copyOf(loaded);
+            if (cacheConfig.isEnabled() && results.stream().noneMatch(RecommendationResult::isFallback)) {
+                cache.put(key, results);
+            }
+            return results;
+        }), coalescedRequests::increment);
+    }
+    
+    private record Key(String branch, List<String> skills, long catalogVersion, int limit) {
+    }
+}
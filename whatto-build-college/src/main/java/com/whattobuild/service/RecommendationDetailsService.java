@@ -0,0 +1,92 @@
+package com.whattobuild.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.whattobuild.config.RecommendationDetailsConfig;
+import com.whattobuild.dto.RecommendationDetails;
+import com.whattobuild.model.User;
+import com.whattobuild.repository.ProjectRepository;
+import com.whattobuild.repository.RecommendationRepository;
+import com.whattobuild.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Serves the text of a persisted recommendation. Columns written at save time
+ * (eager mode, or reasoning written by the model) are returned as stored; the
+ * rest is rendered from the project and the student's profile on first request
+ * and cached by recommendation id ("recommendation.details" cache metrics).
+ */
+@Service
+public class RecommendationDetailsService {
+    
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+    
+    @Autowired
+    private ProjectRepository projectRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RecommendationTextRenderer textRenderer;
+    
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+    
+    @Autowired
+    private RecommendationDetailsConfig detailsConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Cache<Long, RecommendationDetails> cache;
+    
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(detailsConfig.getCacheMaxSize())
+                .expireAfterWrite(detailsConfig.getCacheExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recommendation.details");
+    }
+    
+    // Called when a recommendation is regenerated in place, so its text follows the new score
+    public void evict(Collection<Long> recommendationIds) {
+        cache.invalidateAll(recommendationIds);
+    }
+    
+    // Transactional so the project's and student's skill collections can load while rendering
+    @Transactional(readOnly = true)
+    public Optional<RecommendationDetails> getDetails(Long recommendationId) {
+        RecommendationDetails cached = cache.getIfPresent(recommendationId);
+        if (cached != null) return Optional.of(cached);
+        
+        // Ids are handed out before the write-behind queue writes the row; a queued row is also newer than the stored one
+        Optional<RecommendationDetails> details = writeBehindQueue.pendingRecommendation(recommendationId)
+                .or(() -> recommendationRepository.findById(recommendationId)).flatMap(rec ->
+                projectRepository.findById(rec.getProjectId()).map(project -> {
+                    String reasoning = rec.getReasoning();
+                    if (reasoning == null) {
+                        User student = userRepository.findById(rec.getStudentId()).orElse(null);
+                        double score = rec.getMatchScore() != null ? rec.getMatchScore() : 0;
+                        reasoning = textRenderer.reasoning(student, project, score);
+                    }
+                    return new RecommendationDetails(rec.getId(), project.getId(), project.getName(), rec.getMatchScore(),
+                            reasoning,
+                            rec.getResumePoints() != null ? rec.getResumePoints() : textRenderer.resumePoints(project),
+                            rec.getLearningPlan() != null ? rec.getLearningPlan() : textRenderer.learningPlan(project));
+                }));
+        details.ifPresent(d -> cache.put(recommendationId, d));
+        return details;
+    }
+}
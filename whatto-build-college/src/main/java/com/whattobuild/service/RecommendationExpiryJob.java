@@ -0,0 +1,91 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.RecommendationExpiryConfig;
+import com.whattobuild.model.Recommendation;
+import com.whattobuild.repository.RecommendationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Scheduled sweep of the recommendations table. ACTIVE rows that have not
+ * been regenerated within the ttl are marked EXPIRED, and EXPIRED rows past
+ * the retention period are deleted. Both passes take the oldest rows first
+ * through the (status, updated_at) index and commit one bounded chunk per
+ * transaction, so the sweep never holds locks on more than a chunk of rows.
+ * A row that is refreshed between selection and update is left untouched.
+ */
+@Component
+public class RecommendationExpiryJob {
+    
+    @Autowired
+    private RecommendationExpiryConfig expiryConfig;
+    
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    @Scheduled(cron = "${recommendations.expiry.cron:0 15 * * * *}")
+    public void sweep() {
+        if (!expiryConfig.isEnabled() || !running.compareAndSet(false, true)) return;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expireBefore = now.minus(expiryConfig.getTtl());
+            LocalDateTime purgeBefore = expireBefore.minus(expiryConfig.getRetention());
+            
+            int expired = inChunks(Recommendation.Status.ACTIVE, expireBefore, ids -> recommendationRepository
+                    .updateStatus(ids, Recommendation.Status.ACTIVE, Recommendation.Status.EXPIRED, expireBefore));
+            int purged = inChunks(Recommendation.Status.EXPIRED, purgeBefore, ids -> recommendationRepository
+                    .deleteByIds(ids, Recommendation.Status.EXPIRED, purgeBefore));
+            
+            count("expired", expired);
+            count("purged", purged);
+            if (expired > 0 || purged > 0) {
+                System.out.println("Recommendation sweep: " + expired + " expired, " + purged + " purged");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Chunks already committed stay done; the next run picks up the rest
+            System.err.println("Recommendation sweep failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    // Processed rows leave the selection, so each round simply takes the oldest remaining chunk
+    private int inChunks(Recommendation.Status status, LocalDateTime before, ToIntFunction<List<Long>> action)
+            throws InterruptedException {
+        int chunkSize = Math.max(1, expiryConfig.getChunkSize());
+        int total = 0;
+        while (true) {
+            List<Long> ids = recommendationRepository.findIdsByStatusUpdatedBefore(status, before,
+                    PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) return total;
+            int changed = action.applyAsInt(ids);
+            total += changed;
+            // Every selected row was refreshed meanwhile; stop rather than spin
+            if (changed == 0 || ids.size() < chunkSize) return total;
+            Thread.sleep(expiryConfig.getPause().toMillis());
+        }
+    }
+    
+    private void count(String result, int rows) {
+        Counter.builder("recommendations.sweep.rows")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
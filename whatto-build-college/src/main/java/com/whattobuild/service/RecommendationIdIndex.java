@@ -0,0 +1,116 @@
+package com.whattobuild.service;
+
+import com.whattobuild.repository.RecommendationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory map from (student, project) to recommendation id, so a refresh
+ * reuses a recommendation's id without querying the database on the request
+ * path. It is loaded from the recommendations table at startup and updated
+ * as ids are handed out, before the write-behind queue writes the rows. New
+ * ids come from a spare pool that a background thread keeps topped up from
+ * the pooled sequence. A purged pair keeps its entry until the next restart;
+ * reusing its id just inserts the row again under it.
+ */
+@Component
+public class RecommendationIdIndex {
+    
+    // Two allocation blocks of the pooled generator
+    private static final int SPARE_IDS = 100;
+    
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+    
+    @Autowired
+    private WriteBehindStore writeBehindStore;
+    
+    private final Map<Long, Map<Long, Long>> byStudent = new ConcurrentHashMap<>();
+    private final BlockingQueue<Long> spareIds = new LinkedBlockingQueue<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private ExecutorService refiller;
+    
+    @PostConstruct
+    public void init() {
+        int rows = 0;
+        for (Object[] key : recommendationRepository.findAllKeys()) {
+            byStudent.computeIfAbsent((Long) key[1], s -> new HashMap<>()).put((Long) key[2], (Long) key[0]);
+            rows++;
+        }
+        System.out.println("Recommendation id index loaded: " + rows + " rows");
+        
+        refiller = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "recommendation-ids");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refillIfLow();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+    
+    /**
+     * Project id to recommendation id for these projects: the student's
+     * existing ids, and new ones for projects never recommended to them.
+     * Assignment is atomic per student, so overlapping refreshes that add the
+     * same project get the same id rather than one each, of which only one
+     * would ever be written.
+     */
+    public Map<Long, Long> assign(Long studentId, List<Long> projectIds) {
+        Map<Long, Long> known = byStudent.computeIfAbsent(studentId, s -> new HashMap<>());
+        Map<Long, Long> ids = new HashMap<>();
+        synchronized (known) {
+            List<Long> missing = new ArrayList<>();
+            for (Long projectId : projectIds) {
+                Long id = known.get(projectId);
+                if (id != null) ids.put(projectId, id);
+                else if (!missing.contains(projectId)) missing.add(projectId);
+            }
+            Iterator<Long> reserved = take(missing.size()).iterator();
+            for (Long projectId : missing) {
+                Long id = reserved.next();
+                known.put(projectId, id);
+                ids.put(projectId, id);
+            }
+        }
+        return ids;
+    }
+    
+    // From the spare pool; only reaches the database when a burst has drained it
+    private List<Long> take(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) return ids;
+        spareIds.drainTo(ids, count);
+        if (ids.size() < count) {
+            ids.addAll(writeBehindStore.reserveRecommendationIds(count - ids.size()));
+        }
+        refillIfLow();
+        return ids;
+    }
+    
+    private void refillIfLow() {
+        if (spareIds.size() >= SPARE_IDS / 2 || !refilling.compareAndSet(false, true)) return;
+        refiller.execute(() -> {
+            try {
+                spareIds.addAll(writeBehindStore.reserveRecommendationIds(Math.max(0, SPARE_IDS - spareIds.size())));
+            } catch (RuntimeException e) {
+                System.err.println("Recommendation id refill failed, reserving on demand: " + e.getMessage());
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.whattobuild.service;
+
+import com.whattobuild.model.Project;
+import com.whattobuild.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Renders the reasoning, resume points and learning plan shown with a
+ * recommendation. Templates are compiled once into literal and slot segments,
+ * so rendering is a single StringBuilder pass with no format-string parsing.
+ */
+@Component
+public class RecommendationTextRenderer {
+
+    private static final Template REASONING = Template.compile(
+            "This project matches {owner} {branch} background and {skills} skills. " +
+            "The {difficulty} difficulty level is appropriate for their current skill level. " +
+            "Match score: {score}%",
+            "owner", "branch", "skills", "difficulty", "score");
+
+    // For recommendations whose student profile is no longer known
+    private static final Template REASONING_WITHOUT_PROFILE = Template.compile(
+            "The {difficulty} difficulty level is appropriate for the student's current skill level. " +
+            "Match score: {score}%",
+            "difficulty", "score");
+
+    private static final Template RESUME_POINTS = Template.compile(
+            "• Developed {name} using modern technologies\n" +
+            "• Implemented best practices and clean code principles\n" +
+            "• Gained experience in {skills}\n" +
+            "• Contributed to project completion within estimated timeline",
+            "name", "skills");
+
+    private static final Template LEARNING_PLAN = Template.compile(
+            "1. Study {skills} fundamentals (Week 1-2)\n" +
+            "2. Set up development environment (Week 2)\n" +
+            "3. Implement core features (Week 3-4)\n" +
+            "4. Add testing and documentation (Week 4-5)\n" +
+            "5. Deploy and showcase (Week 5)",
+            "skills");
+
+    // user may be null when the student is unknown
+    public String reasoning(User user, Project project, double matchScore) {
+        String difficulty = project.getDifficulty() != null ? project.getDifficulty().name().toLowerCase() : "chosen";
+        String score = String.valueOf(Math.round(matchScore * 100));
+        if (user == null || user.getBranch() == null) {
+            return REASONING_WITHOUT_PROFILE.render(difficulty, score);
+        }
+        String owner = user.getName() != null ? user.getName() + "'s" : "your";
+        return REASONING.render(owner, user.getBranch(), join(user.getSkills(), ", "), difficulty, score);
+    }
+
+    public String resumePoints(Project project) {
+        return RESUME_POINTS.render(project.getName(), join(project.getSkills(), ", "));
+    }
+
+    public String learningPlan(Project project) {
+        return LEARNING_PLAN.render(join(project.getSkills(), " and "));
+    }
+
+    private static String join(List<String> values, String separator) {
+        return values == null ? "" : String.join(separator, values);
+    }
+
+    // Literal text interleaved with named slots, compiled once
+    private static final class Template {
+
+        private final String[] literals;
+        private final int[] slots;
+        private final int literalLength;
+
+        private Template(String[] literals, int[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        // Values passed to render() follow the order of names
+        static Template compile(String pattern, String... names) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            int from = 0;
+            int open;
+            while ((open = pattern.indexOf('{', from)) >= 0) {
+                int close = pattern.indexOf('}', open);
+                int slot = Arrays.asList(names).indexOf(pattern.substring(open + 1, close));
+                if (slot < 0) {
+                    throw new IllegalArgumentException("Unknown template slot in: " + pattern);
+                }
+                literals.add(pattern.substring(from, open));
+                slots.add(slot);
+                from = close + 1;
+            }
+            literals.add(pattern.substring(from));
+            return new Template(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String render(String... values) {
+            int length = literalLength;
+            for (String value : values) {
+                length += value != null ? value.length() : 4;
+            }
+            StringBuilder out = new StringBuilder(length);
+            for (int i = 0; i < slots.length; i++) {
+                out.append(literals[i]).append(values[slots[i]]);
+            }
+            return out.append(literals[literals.length - 1]).toString();
+        }
+    }
+}
@@ -0,0 +1,708 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.RepositoryAnalysisConfig;
+import com.whattobuild.dto.RepositoryAnalysis;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scans a repository checked out under the analysis workspace. Directories
+ * are walked in parallel on a fixed-size fork/join pool, source files are read
+ * through a memory mapping (small ones through a heap buffer) and measured
+ * byte by byte without decoding, and build files are inspected for frameworks.
+ * Per-repository file, byte and time limits stop a huge checkout early instead
+ * of letting it hold the pool. Results are reused through {@link AnalysisCache}:
+ * the walk only stats files, and only files whose content is new get measured.
+ */
+@Component
+public class RepositoryAnalyzer {
+    
+    private static final Map<String, Language> LANGUAGES = new HashMap<>();
+    
+    static {
+        Language java = Language.cLike("Java");
+        Language kotlin = Language.cLike("Kotlin");
+        Language javascript = Language.cLike("JavaScript");
+        Language typescript = Language.cLike("TypeScript");
+        Language c = Language.cLike("C");
+        Language cpp = Language.cLike("C++");
+        Language python = new Language("Python", "#", "\"\"\"", "\"\"\"");
+        Language html = new Language("HTML", null, "<!--", "-->");
+        LANGUAGES.put("java", java);
+        LANGUAGES.put("kt", kotlin);
+        LANGUAGES.put("kts", kotlin);
+        LANGUAGES.put("scala", Language.cLike("Scala"));
+        LANGUAGES.put("js", javascript);
+        LANGUAGES.put("jsx", javascript);
+        LANGUAGES.put("mjs", javascript);
+        LANGUAGES.put("ts", typescript);
+        LANGUAGES.put("tsx", typescript);
+        LANGUAGES.put("go", Language.cLike("Go"));
+        LANGUAGES.put("rs", Language.cLike("Rust"));
+        LANGUAGES.put("c", c);
+        LANGUAGES.put("h", c);
+        LANGUAGES.put("cpp", cpp);
+        LANGUAGES.put("cc", cpp);
+        LANGUAGES.put("hpp", cpp);
+        LANGUAGES.put("cs", Language.cLike("C#"));
+        LANGUAGES.put("swift", Language.cLike("Swift"));
+        LANGUAGES.put("dart", Language.cLike("Dart"));
+        LANGUAGES.put("php", Language.cLike("PHP"));
+        LANGUAGES.put("ino", Language.cLike("Arduino"));
+        LANGUAGES.put("css", Language.cLike("CSS"));
+        LANGUAGES.put("scss", Language.cLike("SCSS"));
+        LANGUAGES.put("py", python);
+        LANGUAGES.put("rb", new Language("Ruby", "#", "=begin", "=end"));
+        LANGUAGES.put("r", new Language("R", "#", null, null));
+        LANGUAGES.put("sh", new Language("Shell", "#", null, null));
+        LANGUAGES.put("sql", new Language("SQL", "--", "/*", "*/"));
+        LANGUAGES.put("html", html);
+        LANGUAGES.put("htm", html);
+        LANGUAGES.put("vue", new Language("Vue", "//", "<!--", "-->"));
+    }
+    
+    // Build file -> (lower-case marker in its text -> framework)
+    private static final Map<String, Map<String, String>> BUILD_MARKERS = Map.of(
+            "pom.xml", markers("<project", "Maven", "spring-boot", "Spring Boot", "hibernate", "JPA/Hibernate",
+                    "spring-boot-starter-data-jpa", "JPA/Hibernate", "junit", "JUnit", "mysql", "MySQL",
+                    "postgresql", "PostgreSQL", "lombok", "Lombok", "mockito", "Mockito"),
+            "build.gradle", markers("", "Gradle", "spring-boot", "Spring Boot", "hibernate", "JPA/Hibernate",
+                    "junit", "JUnit", "com.android", "Android", "mysql", "MySQL", "postgresql", "PostgreSQL"),
+            "requirements.txt", markers("django", "Django", "flask", "Flask", "fastapi", "FastAPI", "pytest", "pytest",
+                    "numpy", "NumPy", "pandas", "pandas", "tensorflow", "TensorFlow", "torch", "PyTorch",
+                    "scikit-learn", "scikit-learn"),
+            "go.mod", markers("", "Go modules", "gin-gonic", "Gin"),
+            "cargo.toml", markers("", "Cargo", "tokio", "Tokio", "actix", "Actix"));
+    
+    // package.json dependency -> framework
+    private static final Map<String, String> NPM_MARKERS = Map.ofEntries(
+            Map.entry("react", "React"), Map.entry("vue", "Vue"), Map.entry("@angular/core", "Angular"),
+            Map.entry("next", "Next.js"), Map.entry("express", "Express"), Map.entry("svelte", "Svelte"),
+            Map.entry("jest", "Jest"), Map.entry("mocha", "Mocha"), Map.entry("vitest", "Vitest"),
+            Map.entry("tailwindcss", "Tailwind CSS"), Map.entry("vite", "Vite"), Map.entry("mongoose", "MongoDB"));
+    
+    // Content hash of files over the per-file size limit, which are never read
+    private static final String SKIPPED = "skipped";
+    
+    // Files modified this recently aren't added to the stat memo
+    private static final long RACY_WRITE_MILLIS = 2000;
+    
+    private static final byte[][] DECISION_KEYWORDS = {
+            bytes("if"), bytes("for"), bytes("while"), bytes("case"), bytes("catch"), bytes("elif"), bytes("except")};
+    
+    @Autowired
+    private RepositoryAnalysisConfig analysisConfig;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private AnalysisCache analysisCache;
+    
+    private ForkJoinPool pool;
+    private Semaphore slots;
+    private Path workspace;
+    private Set<String> excludedDirectories;
+    
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, analysisConfig.getThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // maximumPoolSize == parallelism and saturate -> true: joins never add compensation threads
+        pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("repo-analysis-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false, threads, threads, 1, p -> true, 60, TimeUnit.SECONDS);
+        slots = new Semaphore(Math.max(1, analysisConfig.getMaxConcurrentAnalyses()));
+        workspace = Paths.get(analysisConfig.getWorkspaceRoot()).toAbsolutePath().normalize();
+        excludedDirectories = new HashSet<>(analysisConfig.getExcludedDirectories());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    // file:// URLs and plain paths; anything with another scheme (https://github.com/...) is remote
+    public boolean isLocal(String repoRef) {
+        return repoRef.startsWith("file:") || (!repoRef.contains("://") && !repoRef.startsWith("git@"));
+    }
+    
+    public RepositoryAnalysis analyze(String repoRef) throws IOException {
+        Path root = resolve(repoRef);
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Too many repository analyses in progress, try again shortly");
+        }
+        
+        long start = System.nanoTime();
+        try {
+            Scan scan = new Scan(root, start + analysisConfig.getTimeout().toNanos());
+            // The walk only stats files; if every one is known the tree hash answers without reading any
+            run(scan, new DirectoryTask(scan, root));
+            List<SourceFile> files = scan.sortedFiles();
+            String treeHash = scan.stopReason == null ? treeHash(files) : null;
+            RepositoryAnalysis analysis = treeHash != null ? analysisCache.getTree(treeHash) : null;
+            
+            if (analysis == null) {
+                run(scan, new FileTask(scan, files, 0, files.size()));
+                if (treeHash == null && scan.stopReason == null) {
+                    // Stats changed but the content may not have (a fresh clone, a touched file)
+                    treeHash = treeHash(files);
+                    analysis = treeHash != null ? analysisCache.getTree(treeHash) : null;
+                }
+            }
+            if (analysis != null) {
+                analysis.setTreeCacheHit(true);
+            } else {
+                analysis = scan.toAnalysis(files);
+                if (treeHash != null && scan.stopReason == null) {
+                    analysisCache.putTree(treeHash, analysis);
+                }
+            }
+            
+            scan.describeRun(analysis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            Timer.builder("repository.analysis")
+                    .description("Local repository scans")
+                    .tag("truncated", String.valueOf(analysis.isTruncated()))
+                    .tag("cache", analysis.isTreeCacheHit() ? "hit" : "miss")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return analysis;
+        } finally {
+            slots.release();
+        }
+    }
+    
+    private void run(Scan scan, ForkJoinTask<?> task) throws IOException {
+        try {
+            pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scan.stop("interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Repository scan failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    // Symlinks are resolved before the check so a link can't point the scan outside the workspace
+    private Path resolve(String repoRef) throws IOException {
+        Path path = repoRef.startsWith("file:") ? Paths.get(URI.create(repoRef)) : workspace.resolve(repoRef);
+        Path real = path.toRealPath();
+        if (!real.startsWith(workspace.toRealPath())) {
+            throw new IllegalArgumentException("Repository must be inside the analysis workspace " + workspace);
+        }
+        if (!Files.isDirectory(real)) {
+            throw new IllegalArgumentException("Not a directory: " + repoRef);
+        }
+        return real;
+    }
+    
+    // Walk step: applies the limits and records source and build files with their stats
+    private void collect(Scan scan, Path file, BasicFileAttributes attributes) {
+        long size = attributes.size();
+        if (scan.files.incrementAndGet() > analysisConfig.getMaxFiles()) {
+            scan.stop("more than " + analysisConfig.getMaxFiles() + " files");
+            return;
+        }
+        if (scan.bytes.addAndGet(size) > analysisConfig.getMaxTotalSize().toBytes()) {
+            scan.stop("more than " + analysisConfig.getMaxTotalSize() + " of files");
+            return;
+        }
+        
+        String name = file.getFileName().toString();
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        int dot = lowerName.lastIndexOf('.');
+        Language language = dot > 0 ? LANGUAGES.get(lowerName.substring(dot + 1)) : null;
+        boolean buildFile = isBuildFile(lowerName);
+        if (language == null && !buildFile) return;
+        
+        boolean tooLarge = size > analysisConfig.getMaxFileSize().toBytes();
+        if (language != null) {
+            scan.sourceFiles.increment();
+            if (tooLarge) scan.skippedFiles.increment();
+        }
+        Path relative = scan.root.relativize(file);
+        long modified = attributes.lastModifiedTime().toMillis();
+        SourceFile source = new SourceFile(file, relative.toString(), size, modified, language, buildFile,
+                language != null && isTestFile(relative, name));
+        source.contentHash = tooLarge ? SKIPPED : analysisCache.contentHash(file, size, modified);
+        scan.sourceList.add(source);
+    }
+    
+    // Read step: hashes files the stat memo doesn't know and measures content the file cache doesn't know
+    private void process(Scan scan, SourceFile file) {
+        if (SKIPPED.equals(file.contentHash)) return;
+        try {
+            ByteBuffer buffer = null;
+            if (file.contentHash == null) {
+                buffer = read(file.path, file.size);
+                scan.filesRead.increment();
+                file.contentHash = sha256(buffer);
+                // A file written within the last moments could change again without its mtime moving
+                if (System.currentTimeMillis() - file.modified > RACY_WRITE_MILLIS) {
+                    analysisCache.rememberContentHash(file.path, file.size, file.modified, file.contentHash);
+                }
+            }
+            if (file.buildFile) {
+                detectFrameworks(scan, file.path, file.path.getFileName().toString().toLowerCase(Locale.ROOT));
+            }
+            if (file.language == null) return;
+            
+            FileMetrics metrics = analysisCache.getFile(file.language.name, file.contentHash);
+            if (metrics == null) {
+                if (buffer == null) {
+                    buffer = read(file.path, file.size);
+                    scan.filesRead.increment();
+                }
+                metrics = measure(buffer, file.language);
+                analysisCache.putFile(file.language.name, file.contentHash, metrics);
+                scan.filesMeasured.increment();
+            }
+            file.metrics = metrics;
+        } catch (IOException e) {
+            // Unreadable: left out of the totals, and without a hash the result isn't cached
+            file.contentHash = null;
+            if (file.language != null) scan.skippedFiles.increment();
+        }
+    }
+    
+    // SHA-256 over (path, language, content hash) of every file in path order; null if any hash is unknown
+    private static String treeHash(List<SourceFile> files) {
+        MessageDigest digest = sha256Digest();
+        for (SourceFile file : files) {
+            if (file.contentHash == null) return null;
+            digest.update((file.relative + '\0' + (file.language != null ? file.language.name : "-") + '\0'
+                    + file.contentHash + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static String sha256(ByteBuffer buffer) {
+        MessageDigest digest = sha256Digest();
+        digest.update(buffer.duplicate());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private ByteBuffer read(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (size >= analysisConfig.getMmapThreshold().toBytes()) {
+                // The mapping outlives the channel and is released with the buffer
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or EOF
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+    
+    private static boolean isBuildFile(String lowerName) {
+        return BUILD_MARKERS.containsKey(lowerName) || lowerName.equals("build.gradle.kts")
+                || lowerName.equals("package.json") || lowerName.equals("pyproject.toml");
+    }
+    
+    private void detectFrameworks(Scan scan, Path file, String lowerName) {
+        try {
+            if (lowerName.equals("package.json")) {
+                scan.frameworks.add("Node.js");
+                JsonNode root = objectMapper.readTree(file.toFile());
+                for (String section : List.of("dependencies", "devDependencies")) {
+                    root.path(section).fieldNames().forEachRemaining(dependency -> {
+                        String framework = NPM_MARKERS.get(dependency);
+                        if (framework != null) scan.frameworks.add(framework);
+                    });
+                }
+                return;
+            }
+            String key = lowerName.equals("build.gradle.kts") ? "build.gradle"
+                    : lowerName.equals("pyproject.toml") ? "requirements.txt" : lowerName;
+            String text = Files.readString(file, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+            BUILD_MARKERS.get(key).forEach((marker, framework) -> {
+                if (text.contains(marker)) scan.frameworks.add(framework);
+            });
+        } catch (IOException e) {
+            // Unreadable or malformed build files just contribute nothing
+        }
+    }
+    
+    private static boolean isTestFile(Path relative, String name) {
+        for (Path segment : relative) {
+            String s = segment.toString();
+            if (s.equals("test") || s.equals("tests") || s.equals("__tests__") || s.equals("spec")) return true;
+        }
+        return name.matches(".*(Test|Tests|IT)\\.(java|kt|scala|cs)")
+                || name.matches("(test_.*|.*_test)\\.py")
+                || name.endsWith("_test.go")
+                || name.matches(".*\\.(test|spec)\\.[jt]sx?");
+    }
+    
+    // Classifies each line as blank, comment or code and counts decision points in code lines.
+    // String literals aren't tracked, so a keyword inside a string still counts.
+    static FileMetrics measure(ByteBuffer buffer, Language language) {
+        FileMetrics metrics = new FileMetrics();
+        byte[] blockClose = null;
+        int limit = buffer.limit();
+        int i = buffer.position();
+        while (i < limit) {
+            int end = i;
+            while (end < limit && buffer.get(end) != '\n') end++;
+            int start = i;
+            while (start < end && isSpace(buffer.get(start))) start++;
+            
+            if (start == end) {
+                metrics.blankLines++;
+            } else if (blockClose != null) {
+                metrics.commentLines++;
+                if (indexOf(buffer, blockClose, start, end) >= 0) blockClose = null;
+            } else if (language.lineComment != null && startsWith(buffer, language.lineComment, start, end)) {
+                metrics.commentLines++;
+            } else if (language.blockOpen != null && startsWith(buffer, language.blockOpen, start, end)) {
+                metrics.commentLines++;
+                if (indexOf(buffer, language.blockClose, start + language.blockOpen.length, end) < 0) {
+                    blockClose = language.blockClose;
+                }
+            } else {
+                metrics.codeLines++;
+                metrics.decisionPoints += countDecisions(buffer, start, end);
+            }
+            i = end + 1;
+        }
+        return metrics;
+    }
+    
+    private static int countDecisions(ByteBuffer buffer, int start, int end) {
+        int count = 0;
+        int i = start;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (isIdentifier(b)) {
+                int wordStart = i;
+                while (i < end && isIdentifier(buffer.get(i))) i++;
+                if (isDecisionKeyword(buffer, wordStart, i)) count++;
+            } else {
+                if ((b == '&' || b == '|') && i + 1 < end && buffer.get(i + 1) == b) {
+                    count++;
+                    i++;
+                }
+                i++;
+            }
+        }
+        return count;
+    }
+    
+    private static boolean isDecisionKeyword(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        outer:
+        for (byte[] keyword : DECISION_KEYWORDS) {
+            if (keyword.length != length) continue;
+            for (int k = 0; k < length; k++) {
+                if (buffer.get(start + k) != keyword[k]) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    private static boolean startsWith(ByteBuffer buffer, byte[] prefix, int start, int end) {
+        if (end - start < prefix.length) return false;
+        for (int k = 0; k < prefix.length; k++) {
+            if (buffer.get(start + k) != prefix[k]) return false;
+        }
+        return true;
+    }
+    
+    private static int indexOf(ByteBuffer buffer, byte[] needle, int start, int end) {
+        for (int i = start; i <= end - needle.length; i++) {
+            if (startsWith(buffer, needle, i, end)) return i;
+        }
+        return -1;
+    }
+    
+    // Bytes >= 0x80 are part of UTF-8 sequences and count as identifier characters
+    private static boolean isIdentifier(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b < 0;
+    }
+    
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+    
+    private static byte[] bytes(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    private static Map<String, String> markers(String... pairs) {
+        Map<String, String> markers = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            markers.put(pairs[i], pairs[i + 1]);
+        }
+        return markers;
+    }
+    
+    static final class Language {
+        final String name;
+        final byte[] lineComment;
+        final byte[] blockOpen;
+        final byte[] blockClose;
+        
+        Language(String name, String lineComment, String blockOpen, String blockClose) {
+            this.name = name;
+            this.lineComment = bytes(lineComment);
+            this.blockOpen = bytes(blockOpen);
+            this.blockClose = bytes(blockClose);
+        }
+        
+        static Language cLike(String name) {
+            return new Language(name, "//", "/*", "*/");
+        }
+    }
+    
+    static final class FileMetrics {
+        long codeLines;
+        long commentLines;
+        long blankLines;
+        long decisionPoints;
+    }
+    
+    // One source or build file found by the walk
+    private static final class SourceFile {
+        final Path path;
+        final String relative;
+        final long size;
+        final long modified;
+        final Language language;
+        final boolean buildFile;
+        final boolean test;
+        // Set by the walk from the stat memo, or by the read step
+        volatile String contentHash;
+        volatile FileMetrics metrics;
+        
+        SourceFile(Path path, String relative, long size, long modified, Language language, boolean buildFile,
+                   boolean test) {
+            this.path = path;
+            this.relative = relative;
+            this.size = size;
+            this.modified = modified;
+            this.language = language;
+            this.buildFile = buildFile;
+            this.test = test;
+        }
+    }
+    
+    // Shared, thread-safe state for one analysis
+    private static final class Scan {
+        final Path root;
+        final long deadlineNanos;
+        final AtomicInteger files = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final LongAdder sourceFiles = new LongAdder();
+        final LongAdder skippedFiles = new LongAdder();
+        final LongAdder filesRead = new LongAdder();
+        final LongAdder filesMeasured = new LongAdder();
+        final Queue<SourceFile> sourceList = new ConcurrentLinkedQueue<>();
+        final Set<String> frameworks = ConcurrentHashMap.newKeySet();
+        volatile String stopReason;
+        
+        Scan(Path root, long deadlineNanos) {
+            this.root = root;
+            this.deadlineNanos = deadlineNanos;
+        }
+        
+        void stop(String reason) {
+            if (stopReason == null) stopReason = reason;
+        }
+        
+        boolean stopped() {
+            if (stopReason == null && System.nanoTime() - deadlineNanos > 0) {
+                stop("scan timed out");
+            }
+            return stopReason != null;
+        }
+        
+        // Path order, so the tree hash doesn't depend on which worker found a file first
+        List<SourceFile> sortedFiles() {
+            List<SourceFile> sorted = new ArrayList<>(sourceList);
+            sorted.sort(Comparator.comparing(file -> file.relative));
+            return sorted;
+        }
+        
+        // Content-derived results; these are what the tree cache stores
+        RepositoryAnalysis toAnalysis(List<SourceFile> files) {
+            long codeLines = 0, commentLines = 0, blankLines = 0, decisionPoints = 0, testCodeLines = 0;
+            int testFiles = 0;
+            Map<String, Long> languageLines = new HashMap<>();
+            List<String> buildFiles = new ArrayList<>();
+            for (SourceFile file : files) {
+                if (file.buildFile) buildFiles.add(file.relative);
+                FileMetrics metrics = file.metrics;
+                if (metrics == null) continue;
+                codeLines += metrics.codeLines;
+                commentLines += metrics.commentLines;
+                blankLines += metrics.blankLines;
+                decisionPoints += metrics.decisionPoints;
+                languageLines.merge(file.language.name, metrics.codeLines, Long::sum);
+                if (file.test) {
+                    testFiles++;
+                    testCodeLines += metrics.codeLines;
+                }
+            }
+            
+            RepositoryAnalysis analysis = new RepositoryAnalysis();
+            analysis.setCodeLines(codeLines);
+            analysis.setCommentLines(commentLines);
+            analysis.setBlankLines(blankLines);
+            analysis.setDecisionPoints(decisionPoints);
+            analysis.setTestFiles(testFiles);
+            analysis.setTestCodeLines(testCodeLines);
+            Map<String, Long> languages = new LinkedHashMap<>();
+            languageLines.entrySet().stream()
+                    .filter(e -> e.getValue() > 0)
+                    .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+                    .forEach(e -> languages.put(e.getKey(), e.getValue()));
+            analysis.setLanguages(languages);
+            analysis.setFrameworks(new ArrayList<>(new TreeSet<>(frameworks)));
+            analysis.setBuildFiles(buildFiles);
+            analysis.setTruncated(stopReason != null);
+            analysis.setTruncationReason(stopReason);
+            return analysis;
+        }
+        
+        // Walk totals and cache effectiveness for this run, current even when the result came from the tree cache
+        void describeRun(RepositoryAnalysis analysis, long elapsedMillis) {
+            analysis.setRoot(root.getFileName() != null ? root.getFileName().toString() : root.toString());
+            analysis.setFiles(files.get());
+            analysis.setSourceFiles(sourceFiles.intValue());
+            analysis.setTotalBytes(bytes.get());
+            analysis.setSkippedFiles(skippedFiles.intValue());
+            analysis.setFilesRead(filesRead.intValue());
+            analysis.setFilesMeasured(filesMeasured.intValue());
+            long measurable = sourceFiles.sum() - skippedFiles.sum();
+            analysis.setFileCacheHitRatio(measurable <= 0 ? 0
+                    : Math.round((1 - (double) filesMeasured.sum() / measurable) * 1000) / 1000.0);
+            analysis.setElapsedMillis(elapsedMillis);
+        }
+    }
+    
+    // Runs the read step over a slice of the file list, splitting it across the pool
+    private final class FileTask extends RecursiveAction {
+        
+        private static final int THRESHOLD = 32;
+        
+        private final Scan scan;
+        private final List<SourceFile> files;
+        private final int from;
+        private final int to;
+        
+        FileTask(Scan scan, List<SourceFile> files, int from, int to) {
+            this.scan = scan;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FileTask(scan, files, from, middle), new FileTask(scan, files, middle, to));
+                return;
+            }
+            for (int i = from; i < to && !scan.stopped(); i++) {
+                process(scan, files.get(i));
+            }
+        }
+    }
+    
+    // Lists one directory, records its files and forks a task per subdirectory
+    private final class DirectoryTask extends RecursiveAction {
+        
+        private final Scan scan;
+        private final Path dir;
+        
+        DirectoryTask(Scan scan, Path dir) {
+            this.scan = scan;
+            this.dir = dir;
+        }
+        
+        @Override
+        protected void compute() {
+            List<DirectoryTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    if (scan.stopped()) break;
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (!excludedDirectories.contains(entry.getFileName().toString())) {
+                            DirectoryTask subtask = new DirectoryTask(scan, entry);
+                            subtask.fork();
+                            subtasks.add(subtask);
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        collect(scan, entry, attributes);
+                    }
+                    // Symlinks are skipped so the walk stays inside the checkout
+                }
+            } catch (IOException e) {
+                // An unreadable directory is left out of the totals
+            }
+            for (DirectoryTask subtask : subtasks) {
+                subtask.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.ScoringConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Scores candidates by index and keeps the best K above a threshold. Large
+ * candidate lists are split into chunks scored on a dedicated fork/join pool
+ * (never the common pool); each chunk keeps a local top-K and the partial
+ * results are merged on the way back up.
+ */
+@Component
+public class ScoringEngine {
+    
+    @Autowired
+    private ScoringConfig scoringConfig;
+    
+    private ForkJoinPool pool;
+    
+    @PostConstruct
+    public void init() {
+        int parallelism = scoringConfig.getParallelism() > 0
+                ? scoringConfig.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("scoring-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    // Returns the selector sorted best-first; ids are candidate indexes in [0, size)
+    public TopKSelector rank(int size, IntToDoubleFunction scorer, double threshold, int limit) {
+        int k = limit > 0 ? Math.min(limit, size) : size;
+        
+        TopKSelector topK;
+        if (size >= scoringConfig.getParallelThreshold() && pool.getParallelism() > 1) {
+            int chunkSize = Math.max(1, scoringConfig.getChunkSize());
+            topK = pool.invoke(new ChunkTask(0, size, chunkSize, scorer, threshold, k));
+        } else {
+            topK = scoreRange(0, size, scorer, threshold, k);
+        }
+        topK.sortDescending();
+        return topK;
+    }
+    
+    private static TopKSelector scoreRange(int from, int to, IntToDoubleFunction scorer, double threshold, int k) {
+        TopKSelector topK = new TopKSelector(Math.min(k, to - from));
+        for (int i = from; i < to; i++) {
+            double score = scorer.applyAsDouble(i);
+            if (score > threshold) {
+                topK.offer(i, score);
+            }
+        }
+        return topK;
+    }
+    
+    private static final class ChunkTask extends RecursiveTask<TopKSelector> {
+        
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final IntToDoubleFunction scorer;
+        private final double threshold;
+        private final int k;
+        
+        ChunkTask(int from, int to, int chunkSize, IntToDoubleFunction scorer, double threshold, int k) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.scorer = scorer;
+            this.threshold = threshold;
+            this.k = k;
+        }
+        
+        @Override
+        protected TopKSelector compute() {
+            if (to - from <= chunkSize) {
+                return scoreRange(from, to, scorer, threshold, k);
+            }
+            
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(from, mid, chunkSize, scorer, threshold, k);
+            ChunkTask right = new ChunkTask(mid, to, chunkSize, scorer, threshold, k);
+            left.fork();
+            TopKSelector rightTopK = right.compute();
+            TopKSelector leftTopK = left.join();
+            
+            TopKSelector merged = new TopKSelector(Math.min(k, leftTopK.size() + rightTopK.size()));
+            merged.offerAll(leftTopK);
+            merged.offerAll(rightTopK);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.whattobuild.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller starts the
+ * computation, callers arriving while it is in flight share its future (and
+ * so its result or exception). Nothing is retained once the call completes.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // onShared runs for each caller that joins an existing flight instead of starting one
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> supplier, Runnable onShared) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (onShared != null) onShared.run();
+            return existing;
+        }
+
+        CompletableFuture<V> source;
+        try {
+            source = supplier.get();
+        } catch (Throwable e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        source.whenComplete((value, error) -> {
+            // Leave the map before waking waiters so a caller reacting to the result starts a fresh flight
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return flight;
+    }
+}
@@ -0,0 +1,119 @@
+package com.whattobuild.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns skill strings into dense int ids so skill sets can be held as
+ * {@code long[]} bitsets. Ids are never reassigned, so a bitset stays valid
+ * for as long as the process lives.
+ */
+@Component
+public class SkillDictionary {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    public int intern(String skill) {
+        Integer id = ids.get(skill);
+        if (id != null) return id;
+
+        synchronized (this) {
+            id = ids.get(skill);
+            if (id != null) return id;
+
+            int next = size;
+            if (next == names.length) {
+                names = Arrays.copyOf(names, next * 2);
+            }
+            names[next] = skill;
+            size = next + 1;
+            // Publish the name before the id becomes visible to lock-free readers
+            ids.put(skill, next);
+            return next;
+        }
+    }
+
+    public long[] encode(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) return EMPTY;
+
+        int[] skillIds = new int[skills.size()];
+        int maxId = 0;
+        int i = 0;
+        for (String skill : skills) {
+            skillIds[i] = intern(skill);
+            maxId = Math.max(maxId, skillIds[i]);
+            i++;
+        }
+
+        long[] bits = new long[(maxId >> 6) + 1];
+        for (int id : skillIds) {
+            bits[id >> 6] |= 1L << id;
+        }
+        return bits;
+    }
+
+    public List<String> decode(long[] bits) {
+        String[] snapshot = names;
+        List<String> skills = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(w);
+                skills.add(snapshot[id]);
+                w &= w - 1;
+            }
+        }
+        return skills;
+    }
+
+    // Trimmed, de-duplicated, sorted form of a skill list; equal skill sets map to equal lists
+    public static List<String> canonicalize(Collection<String> skills) {
+        if (skills == null) return List.of();
+        return skills.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(skill -> !skill.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long w : bits) {
+            count += Long.bitCount(w);
+        }
+        return count;
+    }
+
+    public static int intersectionCount(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public static long[] and(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.whattobuild.service;
+
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.model.Project;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental parser for the line-oriented streaming prompt format
+ * ("&lt;n&gt;. &lt;project name&gt; | &lt;score&gt; | &lt;reasoning&gt;"). Content deltas are
+ * buffered until a newline completes a line, so each project is emitted as
+ * soon as the model finishes writing it rather than after the whole body.
+ */
+public final class StreamingCompletionParser {
+    
+    private static final Pattern LINE = Pattern.compile("^\\s*(?:(\\d{1,4})[.)]\\s*)?([^|]+?)\\s*\\|\\s*(\\d{1,3})\\s*%?\\s*\\|\\s*(.+?)\\s*$");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private final List<Project> projects;
+    private final String[] names;
+    private final Consumer<RecommendationRefinement> listener;
+    private final boolean[] emitted;
+    private final StringBuilder pending = new StringBuilder();
+    
+    // projects are the prompt's numbered list, in prompt order
+    public StreamingCompletionParser(List<Project> projects, Consumer<RecommendationRefinement> listener) {
+        this.projects = projects;
+        this.listener = listener;
+        this.emitted = new boolean[projects.size()];
+        this.names = new String[projects.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = normalize(projects.get(i).getName());
+        }
+    }
+    
+    public void accept(String delta) {
+        pending.append(delta);
+        int newline;
+        while ((newline = pending.indexOf("\n")) >= 0) {
+            parseLine(pending.substring(0, newline));
+            pending.delete(0, newline + 1);
+        }
+    }
+    
+    // Flushes a final line that was not newline-terminated
+    public void finish() {
+        if (pending.length() > 0) {
+            parseLine(pending.toString());
+            pending.setLength(0);
+        }
+    }
+    
+    private void parseLine(String line) {
+        Matcher m = LINE.matcher(line);
+        if (!m.matches()) return;
+        
+        int index = resolve(m.group(1), m.group(2));
+        if (index < 0 || emitted[index]) return;
+        emitted[index] = true;
+        
+        double score = Math.min(100, Integer.parseInt(m.group(3))) / 100.0;
+        listener.accept(new RecommendationRefinement(projects.get(index), score, m.group(4)));
+    }
+    
+    // Exact name first, then the list number the model echoed, then the longest name the line contains,
+    // so "Chat App Pro" is never taken for "Chat App" and a decorated name still resolves
+    private int resolve(String number, String name) {
+        String needle = normalize(name);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(needle)) return i;
+        }
+        
+        int index = parseIndex(number);
+        if (index >= 0 && index < projects.size()) return index;
+        
+        int longest = -1;
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].isEmpty() && (" " + needle + " ").contains(" " + names[i] + " ")
+                    && (longest < 0 || names[i].length() > names[longest].length())) {
+                longest = i;
+            }
+        }
+        return longest;
+    }
+    
+    // Zero-based; -1 when absent or unparseable
+    private static int parseIndex(String number) {
+        if (number == null) return -1;
+        try {
+            return Integer.parseInt(number) - 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    // Lower case, punctuation and markup folded to single spaces
+    private static String normalize(String text) {
+        return NON_ALPHANUMERIC.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
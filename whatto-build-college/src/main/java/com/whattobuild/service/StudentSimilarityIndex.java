@@ -0,0 +1,221 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.SimilarityConfig;
+import com.whattobuild.model.User;
+import com.whattobuild.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MinHash/LSH index over student skill sets. Each student gets a MinHash
+ * signature; the signature is cut into bands and every band is hashed into a
+ * bucket, so students sharing a bucket in any band are likely to have similar
+ * skill sets. A query re-ranks only its bucket mates by exact Jaccard
+ * similarity instead of comparing against the whole cohort. The index is
+ * loaded on first use and updated in place on signup or skill change.
+ */
+@Component
+public class StudentSimilarityIndex {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private SkillDictionary skillDictionary;
+    
+    @Autowired
+    private SimilarityConfig similarityConfig;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Long, Student> students = new ConcurrentHashMap<>();
+    private List<Map<Long, Set<Long>>> buckets;
+    private long[] seeds;
+    private int rows;
+    private DistributionSummary candidateCounts;
+    private volatile boolean loaded;
+    
+    @PostConstruct
+    public void init() {
+        int bands = Math.max(1, similarityConfig.getBands());
+        rows = Math.max(1, similarityConfig.getNumHashes() / bands);
+        // Fixed seed keeps signatures reproducible for a given skill dictionary
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        buckets = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            buckets.add(new ConcurrentHashMap<>());
+        }
+        candidateCounts = DistributionSummary.builder("similarity.lsh.candidates")
+                .description("Students re-ranked per similar-students query")
+                .register(meterRegistry);
+        meterRegistry.gauge("similarity.index.students", students, Map::size);
+    }
+    
+    // Called after signup or a skill change; the student's old buckets are replaced
+    public void update(User user) {
+        if (user.getId() == null || user.getRole() != User.Role.STUDENT) return;
+        ensureLoaded();
+        index(user);
+    }
+    
+    public void remove(Long studentId) {
+        synchronized (this) {
+            Student previous = students.remove(studentId);
+            if (previous != null) unbucket(previous);
+        }
+    }
+    
+    // Most similar students first; those sharing no LSH bucket with the student are never considered
+    public List<Match> similarTo(Long studentId, int limit) {
+        ensureLoaded();
+        Student target = students.get(studentId);
+        if (target == null) {
+            throw new IllegalArgumentException("Student not found: " + studentId);
+        }
+        if (target.signature == null) return List.of();
+        
+        Set<Long> candidates = new HashSet<>();
+        int maxCandidates = similarityConfig.getMaxCandidates();
+        collect:
+        for (int b = 0; b < buckets.size(); b++) {
+            Set<Long> bucket = buckets.get(b).get(bandKey(target.signature, b));
+            if (bucket == null) continue;
+            for (Long id : bucket) {
+                if (candidates.size() >= maxCandidates) break collect;
+                if (!id.equals(studentId)) candidates.add(id);
+            }
+        }
+        candidateCounts.record(candidates.size());
+        
+        List<Match> matches = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            Student other = students.get(id);
+            if (other == null) continue;
+            double similarity = jaccard(target.skillBits, other.skillBits);
+            if (similarity > 0) {
+                matches.add(new Match(id, other.name, other.branch, Math.round(similarity * 100.0) / 100.0,
+                        skillDictionary.decode(SkillDictionary.and(target.skillBits, other.skillBits))));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed().thenComparing(Match::studentId));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+    
+    // Exact Jaccard similarity of two students' skill sets
+    public double similarity(User a, User b) {
+        return jaccard(encode(a), encode(b));
+    }
+    
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            List<User> all = userRepository.findStudentsWithSkills();
+            for (User user : all) {
+                index(user);
+            }
+            loaded = true;
+            System.out.println("Student similarity index built for " + students.size() + " students");
+        }
+    }
+    
+    private synchronized void index(User user) {
+        Student previous = students.remove(user.getId());
+        if (previous != null) unbucket(previous);
+        
+        long[] skillBits = encode(user);
+        Student student = new Student(user.getId(), user.getName(), user.getBranch(), skillBits,
+                signature(skillBits));
+        students.put(user.getId(), student);
+        if (student.signature == null) return;
+        for (int b = 0; b < buckets.size(); b++) {
+            buckets.get(b).computeIfAbsent(bandKey(student.signature, b), k -> ConcurrentHashMap.newKeySet())
+                    .add(user.getId());
+        }
+    }
+    
+    private void unbucket(Student student) {
+        if (student.signature == null) return;
+        for (int b = 0; b < buckets.size(); b++) {
+            long key = bandKey(student.signature, b);
+            buckets.get(b).computeIfPresent(key, (k, members) -> {
+                members.remove(student.id);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+    
+    private long[] encode(User user) {
+        return skillDictionary.encode(SkillDictionary.canonicalize(user.getSkills()));
+    }
+    
+    // Minimum of each seeded hash over the skill ids; null for an empty skill set
+    private int[] signature(long[] skillBits) {
+        if (SkillDictionary.cardinality(skillBits) == 0) return null;
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int word = 0; word < skillBits.length; word++) {
+            long w = skillBits[word];
+            while (w != 0) {
+                int id = (word << 6) + Long.numberOfTrailingZeros(w);
+                for (int i = 0; i < seeds.length; i++) {
+                    int h = (int) (mix64(id ^ seeds[i]) >>> 33);
+                    if (h < signature[i]) signature[i] = h;
+                }
+                w &= w - 1;
+            }
+        }
+        return signature;
+    }
+    
+    private long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int r = 0; r < rows; r++) {
+            h = mix64(h ^ signature[band * rows + r]);
+        }
+        return h;
+    }
+    
+    private static double jaccard(long[] a, long[] b) {
+        int intersection = SkillDictionary.intersectionCount(a, b);
+        int union = SkillDictionary.cardinality(a) + SkillDictionary.cardinality(b) - intersection;
+        return union == 0 ? 0 : (double) intersection / union;
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    public record Match(Long studentId, String name, String branch, double similarity, List<String> commonSkills) {
+    }
+    
+    private static final class Student {
+        final Long id;
+        final String name;
+        final String branch;
+        final long[] skillBits;
+        final int[] signature;
+        
+        Student(Long id, String name, String branch, long[] skillBits, int[] signature) {
+            this.id = id;
+            this.name = name;
+            this.branch = branch;
+            this.skillBits = skillBits;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.SemanticMatchConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Turns free text into a fixed-size, L2-normalized vector without a model:
+ * words, adjacent word pairs and character trigrams are hashed into the
+ * configured number of dimensions with a random sign, then weighted by
+ * log-scaled term frequency. Trigrams let "database" meet "databases" and
+ * "React" meet "ReactJS"; the vectors capture lexical overlap only, not
+ * synonyms such as "backend" and "server-side".
+ */
+@Component
+public class TextEmbedder {
+    
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "using", "with", "your");
+    
+    @Autowired
+    private SemanticMatchConfig semanticConfig;
+    
+    // Null when the text has no indexable words
+    public float[] embed(String text) {
+        if (text == null || text.isBlank()) return null;
+        Map<String, Integer> counts = new HashMap<>();
+        String previous = null;
+        for (String token : tokenize(text)) {
+            counts.merge("w:" + token, 1, Integer::sum);
+            if (previous != null) counts.merge("b:" + previous + " " + token, 1, Integer::sum);
+            String padded = "^" + token + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                counts.merge("c:" + padded.substring(i, i + 3), 1, Integer::sum);
+            }
+            previous = token;
+        }
+        if (counts.isEmpty()) return null;
+        
+        int dimensions = Integer.highestOneBit(Math.max(16, semanticConfig.getDimensions()));
+        float[] vector = new float[dimensions];
+        counts.forEach((feature, count) -> {
+            int h = mix32(feature.hashCode());
+            // Trigrams are numerous; half weight keeps whole words dominant
+            double weight = (1 + Math.log(count)) * (feature.startsWith("c:") ? 0.5 : 1.0);
+            vector[h & (dimensions - 1)] += (h < 0 ? -1 : 1) * weight;
+        });
+        
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) return null;
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+    
+    // Lower-cased words; keeps '+' and '#' so "C++" and "C#" survive
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) tokens.add(token);
+        }
+        return tokens;
+    }
+    
+    // Murmur3 finalizer; spreads String.hashCode over all bits so the sign bit is independent of the bucket
+    private static int mix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,100 @@
+package com.whattobuild.service;
+
+/**
+ * Bounded min-heap of (id, score) pairs on primitive arrays. Keeps the K best
+ * scores seen so far in O(log K) per offer; ties favour the lower id so the
+ * result matches a stable sort over catalog order.
+ */
+public final class TopKSelector {
+
+    private final int capacity;
+    private final int[] ids;
+    private final double[] scores;
+    private int size;
+    private boolean sorted;
+
+    public TopKSelector(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.ids = new int[this.capacity];
+        this.scores = new double[this.capacity];
+    }
+
+    public void offer(int id, double score) {
+        if (sorted) throw new IllegalStateException("Selector already sorted");
+        if (capacity == 0) return;
+
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(ids[0], scores[0], id, score)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    public void offerAll(TopKSelector other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Heap-sorts in place, best first. No further offers are accepted afterwards.
+    public void sortDescending() {
+        if (sorted) return;
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        sorted = true;
+    }
+
+    public int idAt(int index) {
+        return ids[index];
+    }
+
+    public double scoreAt(int index) {
+        return scores[index];
+    }
+
+    // True if (idA, scoreA) ranks below (idB, scoreB)
+    private static boolean worse(int idA, double scoreA, int idB, double scoreB) {
+        int cmp = Double.compare(scoreA, scoreB);
+        return cmp < 0 || (cmp == 0 && idA > idB);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(ids[i], scores[i], ids[parent], scores[parent])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i, int limit) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= limit) break;
+            int right = left + 1;
+            int smallest = right < limit && worse(ids[right], scores[right], ids[left], scores[left]) ? right : left;
+            if (!worse(ids[smallest], scores[smallest], ids[i], scores[i])) break;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,304 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.WriteBehindConfig;
+import com.whattobuild.model.Comparison;
+import com.whattobuild.model.Recommendation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded write-behind buffer for recommendation and comparison rows.
+ * Request threads enqueue and return; one background writer drains the queue
+ * and commits up to batch-size rows through {@link WriteBehindStore}, with
+ * recommendations and comparisons in separate transactions. A full queue
+ * makes producers wait up to offer-timeout (backpressure) and then sheds the
+ * write ("writebehind.writes" with result=shed). Queued recommendations stay
+ * readable by id until written. With the journal enabled every accepted row
+ * is appended to a local file before submit returns and replayed on the next
+ * start, so a crash loses nothing that was acknowledged; the journal is
+ * truncated whenever the queue has fully drained. Appends go through a
+ * {@link JsonLinesJournal}, so concurrent submitters share one flush.
+ */
+@Component
+public class WriteBehindQueue {
+    
+    @Autowired
+    private WriteBehindConfig writeBehindConfig;
+    
+    @Autowired
+    private WriteBehindStore writeBehindStore;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private BlockingQueue<Object> queue;
+    private final Map<Long, Recommendation> pendingRecommendations = new ConcurrentHashMap<>();
+    
+    // Rows submitted but not yet written or shed; the journal is only truncated at zero
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private JsonLinesJournal journal;
+    private List<Object> recovered = List.of();
+    
+    private Thread writer;
+    private volatile boolean accepting = true;
+    private volatile boolean stopping;
+    
+    private Counter queued;
+    private Counter shed;
+    private Counter written;
+    private Counter failed;
+    private Timer batchTimer;
+    private DistributionSummary batchSizes;
+    
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, writeBehindConfig.getCapacity()));
+        queued = writes("queued");
+        shed = writes("shed");
+        written = writes("written");
+        failed = writes("failed");
+        batchTimer = Timer.builder("writebehind.batch.duration")
+                .description("Time to commit one write-behind batch")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("writebehind.batch.size")
+                .description("Rows per write-behind batch")
+                .register(meterRegistry);
+        meterRegistry.gauge("writebehind.queue.depth", queue, Collection::size);
+        
+        if (!writeBehindConfig.isEnabled() || !writeBehindConfig.isJournalEnabled()) return;
+        journal = new JsonLinesJournal("write-behind", Paths.get(writeBehindConfig.getJournalPath()), objectMapper);
+        try {
+            if (journal.getPath().getParent() != null) {
+                Files.createDirectories(journal.getPath().getParent());
+            }
+            recovered = recover();
+            // Never compacted by size; the drain loop empties it once nothing is outstanding
+            journal.open(Long.MAX_VALUE, () -> outstanding.get() == 0 ? List.of() : null);
+        } catch (IOException e) {
+            System.err.println("Write-behind journal unavailable, queued writes will not survive a crash: " + e.getMessage());
+        }
+    }
+    
+    private Counter writes(String result) {
+        return Counter.builder("writebehind.writes")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    // Rows recovered from the journal go first, then the writer starts draining what requests queued meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!writeBehindConfig.isEnabled()) return;
+        if (!recovered.isEmpty()) {
+            int batchSize = Math.max(1, writeBehindConfig.getBatchSize());
+            for (int i = 0; i < recovered.size(); i += batchSize) {
+                write(recovered.subList(i, Math.min(recovered.size(), i + batchSize)));
+            }
+            System.out.println("Write-behind journal replayed: " + recovered.size() + " rows");
+            recovered = List.of();
+        }
+        if (journal != null) {
+            try {
+                Files.deleteIfExists(replayPath());
+            } catch (IOException e) {
+                System.err.println("Write-behind replay file not deleted, it will be replayed again: " + e.getMessage());
+            }
+        }
+        
+        writer = new Thread(this::drain, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        stopping = true;
+        if (writer != null) {
+            try {
+                writer.join(writeBehindConfig.getShutdownTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer.interrupt();
+        }
+        if (!queue.isEmpty()) {
+            System.err.println("Write-behind shutdown left " + queue.size() + " rows unwritten"
+                    + (journal != null && journal.isOpen() ? "; they will be replayed from the journal" : ""));
+        }
+        if (journal != null) journal.close();
+    }
+    
+    // Rows must already carry ids from RecommendationIdIndex.assign
+    public void submitRecommendations(List<Recommendation> recommendations) {
+        for (Recommendation recommendation : recommendations) {
+            submit(recommendation);
+        }
+    }
+    
+    public void submitComparison(Comparison comparison) {
+        submit(comparison);
+    }
+    
+    // A recommendation that is queued but not yet written
+    public Optional<Recommendation> pendingRecommendation(Long id) {
+        return Optional.ofNullable(pendingRecommendations.get(id));
+    }
+    
+    private void submit(Object row) {
+        if (!writeBehindConfig.isEnabled() || !accepting) {
+            write(List.of(row));
+            return;
+        }
+        
+        if (row instanceof Recommendation recommendation) {
+            pendingRecommendations.put(recommendation.getId(), recommendation);
+        }
+        outstanding.incrementAndGet();
+        boolean accepted;
+        try {
+            accepted = queue.offer(row, writeBehindConfig.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            // Shed rows never reach the journal; if the writer commits this row before the append lands,
+            // a replay only repeats an idempotent write
+            journal(row);
+            queued.increment();
+        } else {
+            shed.increment();
+            settle(List.of(row));
+        }
+    }
+    
+    private void drain() {
+        int batchSize = Math.max(1, writeBehindConfig.getBatchSize());
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Object first;
+            try {
+                first = queue.poll(writeBehindConfig.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (stopping) return;
+                if (journal != null) journal.compact();
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            settle(batch);
+            batch.clear();
+        }
+    }
+    
+    // Recommendations and comparisons commit separately, so one kind failing never drops the other
+    private void write(List<Object> rows) {
+        List<Recommendation> recommendations = new ArrayList<>();
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Object row : rows) {
+            if (row instanceof Recommendation recommendation) recommendations.add(recommendation);
+            else comparisons.add((Comparison) row);
+        }
+        
+        long start = System.nanoTime();
+        if (!recommendations.isEmpty()) {
+            writeWithRetries("recommendation", recommendations.size(),
+                    () -> writeBehindStore.writeRecommendations(recommendations));
+        }
+        if (!comparisons.isEmpty()) {
+            writeWithRetries("comparison", comparisons.size(),
+                    () -> writeBehindStore.writeComparisons(comparisons));
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(rows.size());
+    }
+    
+    // Retries with backoff; rows that still fail are dropped and counted
+    private void writeWithRetries(String kind, int rows, Runnable transaction) {
+        int attempts = Math.max(1, writeBehindConfig.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.run();
+                written.increment(rows);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= attempts) {
+                    failed.increment(rows);
+                    System.err.println("Write-behind batch of " + rows + " " + kind + " rows failed after " + attempts
+                            + " attempts: " + e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(100L << attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    failed.increment(rows);
+                    return;
+                }
+            }
+        }
+    }
+    
+    // For rows that went through the queue: they are no longer pending, and no longer need the journal
+    private void settle(List<Object> rows) {
+        for (Object row : rows) {
+            if (row instanceof Recommendation recommendation) {
+                pendingRecommendations.remove(recommendation.getId());
+            }
+        }
+        outstanding.addAndGet(-rows.size());
+    }
+    
+    // Waits for the flush, so the row reaches the OS before the request returns and a process crash can't lose it
+    private void journal(Object row) {
+        if (journal == null) return;
+        String type = row instanceof Recommendation ? "recommendation" : "comparison";
+        journal.append(Map.of("type", type, "row", row)).join();
+    }
+    
+    // Moves the journal aside and parses it; the replay file is only deleted once its rows are written
+    private List<Object> recover() throws IOException {
+        Path replay = replayPath();
+        if (Files.exists(journal.getPath()) && Files.size(journal.getPath()) > 0) {
+            Files.write(replay, Files.readAllBytes(journal.getPath()), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        Files.deleteIfExists(journal.getPath());
+        
+        List<Object> rows = new ArrayList<>();
+        JsonLinesJournal.read(replay, objectMapper, record -> {
+            Class<?> type = "recommendation".equals(record.get("type")) ? Recommendation.class : Comparison.class;
+            rows.add(objectMapper.convertValue(record.get("row"), type));
+        });
+        return rows;
+    }
+    
+    private Path replayPath() {
+        return journal.getPath().resolveSibling(journal.getPath().getFileName() + ".replay");
+    }
+}
@@ -0,0 +1,189 @@
+package com.whattobuild.service;
+
+import com.whattobuild.model.Comparison;
+import com.whattobuild.model.Recommendation;
+import com.whattobuild.repository.ComparisonRepository;
+import com.whattobuild.repository.RecommendationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database side of {@link WriteBehindQueue}. Recommendation ids are reserved
+ * up front from the entity's pooled generator, so a response can carry them
+ * before the row exists. Recommendations are upserted per (student, project)
+ * as two JDBC batches: new pairs are inserted with the reserved id, stored
+ * pairs keep their id and get the new score. Both writes are idempotent,
+ * which lets a journal replay repeat rows that were already written: neither
+ * a recommendation nor a comparison is ever replaced by an older version.
+ */
+@Component
+public class WriteBehindStore {
+    
+    private static final String INSERT_RECOMMENDATION = "INSERT INTO recommendations "
+            + "(id, project_id, student_id, resume_points, learning_plan, match_score, reasoning, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // A refresh revives an expired row but keeps an accepted or rejected one as it is
+    private static final String UPDATE_RECOMMENDATION = "UPDATE recommendations SET "
+            + "match_score = ?, reasoning = ?, resume_points = ?, learning_plan = ?, updated_at = ?, "
+            + "status = CASE WHEN status = 'EXPIRED' THEN 'ACTIVE' ELSE status END "
+            + "WHERE id = ? AND updated_at <= ?";
+    
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+    
+    @Autowired
+    private ComparisonRepository comparisonRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private SessionFactoryImplementor sessionFactory;
+    private IdentifierGenerator recommendationIds;
+    private Timer persistTimer;
+    private DistributionSummary persistedRows;
+    
+    @PostConstruct
+    public void init() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        recommendationIds = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Recommendation.class).getGenerator();
+        // Insert throughput is the rows total over the duration total
+        persistTimer = Timer.builder("recommendations.persist.duration")
+                .description("Time to upsert one batch of recommendations")
+                .register(meterRegistry);
+        persistedRows = DistributionSummary.builder("recommendations.persist.rows")
+                .description("Recommendations inserted or updated per batch")
+                .register(meterRegistry);
+    }
+    
+    // Served from the pooled optimizer's block; only one call in allocationSize reaches the database
+    public List<Long> reserveRecommendationIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) return ids;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i < count; i++) {
+                ids.add(((Number) recommendationIds.generate((SharedSessionContractImplementor) session, null)).longValue());
+            }
+        }
+        return ids;
+    }
+    
+    // Each kind is its own transaction, so a synchronous write from a read-only caller still commits
+    // and a failing comparison never rolls back the recommendations written with it
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeRecommendations(List<Recommendation> recommendations) {
+        if (!recommendations.isEmpty()) {
+            upsertRecommendations(recommendations);
+        }
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void writeComparisons(List<Comparison> comparisons) {
+        if (!comparisons.isEmpty()) {
+            upsertComparisons(comparisons);
+        }
+    }
+    
+    private void upsertRecommendations(List<Recommendation> recommendations) {
+        long start = System.nanoTime();
+        // Queue order is generation order, so the last row of a pair is the newest
+        Map<List<Long>, Recommendation> latest = new LinkedHashMap<>();
+        for (Recommendation r : recommendations) {
+            latest.put(List.of(r.getStudentId(), r.getProjectId()), r);
+        }
+        
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        latest.keySet().forEach(pair -> {
+            studentIds.add(pair.get(0));
+            projectIds.add(pair.get(1));
+        });
+        Map<List<Long>, Long> stored = new HashMap<>();
+        for (Object[] key : recommendationRepository.findKeys(studentIds, projectIds)) {
+            stored.put(List.of((Long) key[1], (Long) key[2]), (Long) key[0]);
+        }
+        
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        latest.forEach((pair, r) -> {
+            Timestamp updatedAt = Timestamp.valueOf(r.getUpdatedAt());
+            Long storedId = stored.get(pair);
+            if (storedId == null) {
+                inserts.add(new Object[] {
+                        r.getId(), r.getProjectId(), r.getStudentId(), r.getResumePoints(), r.getLearningPlan(),
+                        r.getMatchScore(), r.getReasoning(), r.getStatus().name(), Timestamp.valueOf(r.getCreatedAt()),
+                        updatedAt
+                });
+            } else {
+                updates.add(new Object[] {
+                        r.getMatchScore(), r.getReasoning(), r.getResumePoints(), r.getLearningPlan(), updatedAt,
+                        storedId, updatedAt
+                });
+            }
+        });
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_RECOMMENDATION, inserts);
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_RECOMMENDATION, updates);
+        persistTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        persistedRows.record(latest.size());
+    }
+    
+    // Several comparisons of one pair in a batch collapse to the newest; stored pairs come from one query
+    private void upsertComparisons(List<Comparison> comparisons) {
+        Map<List<Long>, Comparison> newest = new LinkedHashMap<>();
+        for (Comparison c : comparisons) {
+            newest.merge(List.of(c.getStudent1(), c.getStudent2()), c,
+                    (a, b) -> b.getCreatedAt().isBefore(a.getCreatedAt()) ? a : b);
+        }
+        
+        Set<Long> student1Ids = new HashSet<>();
+        Set<Long> student2Ids = new HashSet<>();
+        newest.keySet().forEach(pair -> {
+            student1Ids.add(pair.get(0));
+            student2Ids.add(pair.get(1));
+        });
+        Map<List<Long>, Comparison> stored = new HashMap<>();
+        for (Comparison c : comparisonRepository.findPairs(student1Ids, student2Ids)) {
+            stored.put(List.of(c.getStudent1(), c.getStudent2()), c);
+        }
+        
+        List<Comparison> changed = new ArrayList<>(newest.size());
+        newest.forEach((pair, c) -> {
+            Comparison entity = stored.get(pair);
+            if (entity == null) {
+                changed.add(c);
+            } else if (!entity.getCreatedAt().isAfter(c.getCreatedAt())) {
+                entity.setSimilarityScore(c.getSimilarityScore());
+                entity.setResultsJson(c.getResultsJson());
+                entity.setStrengthsStudent1(c.getStrengthsStudent1());
+                entity.setStrengthsStudent2(c.getStrengthsStudent2());
+                entity.setCollaborationSuggestions(c.getCollaborationSuggestions());
+                entity.setCreatedAt(c.getCreatedAt());
+                changed.add(entity);
+            }
+        });
+        comparisonRepository.saveAll(changed);
+    }
+}
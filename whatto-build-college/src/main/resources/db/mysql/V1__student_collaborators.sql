@@ -0,0 +1,25 @@
+-- Tables for the nightly top-collaborators job (CollaboratorJob).
+-- Prod runs with ddl-auto=validate, so apply this before deploying.
+
+-- One precomputed top-K entry per (student, rank); rank 1 is the most compatible peer
+CREATE TABLE IF NOT EXISTS student_collaborators (
+    id               BIGINT      NOT NULL,
+    student_id       BIGINT      NOT NULL,
+    peer_rank        INT         NOT NULL,
+    peer_id          BIGINT      NOT NULL,
+    similarity_score DOUBLE      NOT NULL,
+    computed_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    -- Also serves the per-student lookup and the per-student delete before each rewrite
+    CONSTRAINT uk_student_collaborators_student_rank UNIQUE (student_id, peer_rank)
+) ENGINE = InnoDB;
+
+-- Progress of one run through one branch, committed with each chunk of results
+CREATE TABLE IF NOT EXISTS collaborator_job_checkpoints (
+    branch          VARCHAR(255) NOT NULL,
+    run_id          VARCHAR(255) NOT NULL,
+    last_student_id BIGINT       NOT NULL,
+    completed       BIT(1)       NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (branch)
+) ENGINE = InnoDB;
@@ -0,0 +1,22 @@
+-- Table-backed sequences for the pooled id generators of Recommendation and
+-- StudentCollaborator (allocationSize 50). Apply after V1, before deploying.
+--
+-- The pooled optimizer reads next_val as the top of its first block and hands
+-- out next_val - 49 .. next_val, so each table is seeded with MAX(id) + 50 to
+-- start the first block right after the highest existing id.
+
+CREATE TABLE IF NOT EXISTS recommendation_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO recommendation_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM recommendations
+WHERE NOT EXISTS (SELECT 1 FROM recommendation_seq);
+
+CREATE TABLE IF NOT EXISTS student_collaborator_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO student_collaborator_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM student_collaborators
+WHERE NOT EXISTS (SELECT 1 FROM student_collaborator_seq);
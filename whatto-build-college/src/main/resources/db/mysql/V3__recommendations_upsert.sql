@@ -0,0 +1,23 @@
+-- One row per (student, project) with the time it was last generated, for the
+-- upserting write-behind store and RecommendationExpiryJob. Apply after V2,
+-- before deploying.
+
+-- Refreshes used to insert a new row each time; keep only the newest per pair
+DELETE older
+FROM recommendations older
+JOIN recommendations newer
+  ON newer.student_id = older.student_id
+ AND newer.project_id = older.project_id
+ AND (newer.created_at > older.created_at
+      OR (newer.created_at = older.created_at AND newer.id > older.id));
+
+ALTER TABLE recommendations
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+-- Existing rows were last generated when they were created; without this they
+-- would all look fresh and escape expiry for a full ttl
+UPDATE recommendations SET updated_at = created_at;
+
+ALTER TABLE recommendations
+    ADD CONSTRAINT uk_recommendations_student_project UNIQUE (student_id, project_id),
+    ADD INDEX idx_recommendations_status_updated (status, updated_at);
@@ -34,6 +34,8 @@ function displayRecommendations(recommendations) {
     listDiv.innerHTML = '';
     
     recommendations.forEach((rec, index) => {
+        // Details are rendered on demand when the server defers them, and only for cards the user opens
+        const deferred = rec.id && rec.resumePoints === undefined;
         const card = document.createElement('div');
         card.className = 'card mb-3';
         card.innerHTML = `
@@ -47,20 +49,55 @@ function displayRecommendations(recommendations) {
                     </div>
                     <small class="text-muted">${rec.project.estimatedHours} hours</small>
                 </div>
-                <div class="mt-3">
+                ${deferred ? '<button type="button" class="btn btn-link btn-sm px-0 mt-2 details-toggle">Show details</button>' : ''}
+                <div class="mt-3 details" ${deferred ? 'style="display: none"' : ''}>
                     <h6>Why this project?</h6>
-                    <p class="small">${rec.reasoning}</p>
+                    <p class="small reasoning">${rec.reasoning ?? ''}</p>
                     <h6>Resume Points:</h6>
-                    <p class="small">${rec.resumePoints}</p>
+                    <p class="small resume-points">${rec.resumePoints ?? ''}</p>
                 </div>
             </div>
         `;
         listDiv.appendChild(card);
+        
+        if (deferred) {
+            card.querySelector('.details-toggle').addEventListener('click', () => toggleRecommendationDetails(rec.id, card));
+        }
     });
     
     resultsDiv.style.display = 'block';
 }
 
+function toggleRecommendationDetails(id, card) {
+    const details = card.querySelector('.details');
+    const toggle = card.querySelector('.details-toggle');
+    const opening = details.style.display === 'none';
+    details.style.display = opening ? 'block' : 'none';
+    toggle.textContent = opening ? 'Hide details' : 'Show details';
+    
+    // Fetched once per card; a failed fetch is retried on the next open
+    if (opening && !card.detailsRequest) {
+        card.detailsRequest = loadRecommendationDetails(id, card).then(loaded => {
+            if (!loaded) card.detailsRequest = null;
+        });
+    }
+}
+
+async function loadRecommendationDetails(id, card) {
+    try {
+        const response = await fetch(`/api/recommendations/${id}/details`);
+        if (!response.ok) return false;
+        
+        const details = await response.json();
+        card.querySelector('.reasoning').textContent = details.reasoning;
+        card.querySelector('.resume-points').textContent = details.resumePoints;
+        return true;
+    } catch (error) {
+        // Leave the card without details
+        return false;
+    }
+}
+
 // Repository analysis form handler
 document.getElementById('analyzeForm')?.addEventListener('submit', async function(e) {
     e.preventDefault();
@@ -0,0 +1,73 @@
+package com.whattobuild.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the match score jitter under concurrent scoring: the single
+ * Random every request thread used to share, against ThreadLocalRandom and the
+ * SplitMix64 hash that AIService.diversityJitter uses in deterministic mode.
+ * The shared Random's CAS on its seed is the contended path; main runs each
+ * variant at 1, 2, 4 and 8 threads so the scaling can be compared.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.whattobuild.benchmark.JitterContentionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JitterContentionBenchmark {
+    
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final Random random = new Random();
+    }
+    
+    @State(Scope.Thread)
+    public static class Scorer {
+        final long jitterSeed = ThreadLocalRandom.current().nextLong();
+        long projectId;
+    }
+    
+    @Benchmark
+    public double sharedRandom(Shared shared) {
+        return shared.random.nextDouble() * 0.2 - 0.1;
+    }
+    
+    @Benchmark
+    public double threadLocalRandom() {
+        return ThreadLocalRandom.current().nextDouble() * 0.2 - 0.1;
+    }
+    
+    @Benchmark
+    public double deterministicHash(Scorer scorer) {
+        long h = mix64(scorer.jitterSeed ^ scorer.projectId++);
+        return ((h >>> 11) * 0x1.0p-53) * 0.2 - 0.1;
+    }
+    
+    // Same finalizer as AIService.mix64
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            new Runner(new OptionsBuilder()
+                    .include(JitterContentionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.whattobuild.benchmark;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts/sec for recommendation rows against a real MySQL: one statement per
+ * row (what IDENTITY ids forced), JDBC batches of pre-assigned ids, and the
+ * same batches with rewriteBatchedStatements=true, which is how prod writes
+ * since ids come from the pooled sequence. Rows go to a scratch copy of the
+ * recommendations table that is dropped afterwards. The harness sets
+ * rewriteBatchedStatements itself, so leave it out of bench.url.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.whattobuild.benchmark.RecommendationInsertBenchmark \
+ *     -Dbench.url=jdbc:mysql://localhost:3306/whattobuild_college \
+ *     -Dbench.user=whattobuild_user -Dbench.password=... \
+ *     [-Dbench.rows=20000] [-Dbench.batch=50] [-Dbench.rounds=3]
+ * </pre>
+ */
+public class RecommendationInsertBenchmark {
+    
+    private static final String TABLE = "recommendations_insert_bench";
+    
+    private static final String CREATE = "CREATE TABLE " + TABLE + " ("
+            + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, project_id BIGINT NOT NULL, student_id BIGINT NOT NULL, "
+            + "resume_points TEXT, learning_plan TEXT, match_score DOUBLE, reasoning TEXT, "
+            + "status VARCHAR(255) NOT NULL, created_at DATETIME(6) NOT NULL, updated_at DATETIME(6) NOT NULL"
+            + ") ENGINE = InnoDB";
+    
+    private static final String INSERT_GENERATED = "INSERT INTO " + TABLE
+            + " (project_id, student_id, resume_points, learning_plan, match_score, reasoning, status, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_ASSIGNED = "INSERT INTO " + TABLE
+            + " (id, project_id, student_id, resume_points, learning_plan, match_score, reasoning, status, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int rows;
+    private final int batchSize;
+    
+    RecommendationInsertBenchmark(String url, String user, String password, int rows, int batchSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.rows = rows;
+        this.batchSize = batchSize;
+    }
+    
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("bench.url", args.length > 0 ? args[0] : null);
+        if (url == null) {
+            System.err.println("Usage: -Dbench.url=jdbc:mysql://host:3306/db [-Dbench.user=..] [-Dbench.password=..]"
+                    + " [-Dbench.rows=20000] [-Dbench.batch=50] [-Dbench.rounds=3]");
+            System.exit(2);
+        }
+        RecommendationInsertBenchmark bench = new RecommendationInsertBenchmark(url,
+                System.getProperty("bench.user", "root"),
+                System.getProperty("bench.password", ""),
+                Integer.getInteger("bench.rows", 20000),
+                Integer.getInteger("bench.batch", 50));
+        int rounds = Integer.getInteger("bench.rounds", 3);
+        
+        // The first round warms up the server and the JIT; the others are reported
+        for (int round = 0; round <= rounds; round++) {
+            String label = round == 0 ? "warmup" : "round " + round;
+            bench.report(label, "row-by-row", bench.rowByRow());
+            bench.report(label, "batched", bench.batched(false));
+            bench.report(label, "batched+rewrite", bench.batched(true));
+        }
+    }
+    
+    // One executeUpdate per row with a generated key read back, in one transaction
+    long rowByRow() throws SQLException {
+        try (Connection connection = connect(false)) {
+            recreate(connection);
+            long start = System.nanoTime();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_GENERATED, Statement.RETURN_GENERATED_KEYS)) {
+                for (int i = 0; i < rows; i++) {
+                    bind(insert, 1, i);
+                    insert.executeUpdate();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        keys.next();
+                    }
+                }
+            }
+            connection.commit();
+            long elapsed = System.nanoTime() - start;
+            drop(connection);
+            return elapsed;
+        }
+    }
+    
+    // Pre-assigned ids sent as JDBC batches, in one transaction
+    long batched(boolean rewrite) throws SQLException {
+        try (Connection connection = connect(rewrite)) {
+            recreate(connection);
+            long start = System.nanoTime();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ASSIGNED)) {
+                for (int i = 0; i < rows; i++) {
+                    insert.setLong(1, i + 1L);
+                    bind(insert, 2, i);
+                    insert.addBatch();
+                    if ((i + 1) % batchSize == 0) insert.executeBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            long elapsed = System.nanoTime() - start;
+            drop(connection);
+            return elapsed;
+        }
+    }
+    
+    private void report(String round, String variant, long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%-8s %-16s %8d rows %9.0f inserts/sec%n", round, variant, rows, rows / seconds);
+    }
+    
+    private Connection connect(boolean rewrite) throws SQLException {
+        String separator = url.contains("?") ? "&" : "?";
+        return DriverManager.getConnection(url + separator + "rewriteBatchedStatements=" + rewrite, user, password);
+    }
+    
+    private static void recreate(Connection connection) throws SQLException {
+        drop(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE);
+        }
+    }
+    
+    private static void drop(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+    }
+    
+    // A row shaped like a generated recommendation, starting at parameter first
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insert.setLong(first, i % 500 + 1L);
+        insert.setLong(first + 1, i / 500 + 1L);
+        insert.setString(first + 2, "Built a full-stack application with authentication and a REST API");
+        insert.setString(first + 3, "Week 1: fundamentals; Week 2: core features; Week 3: deployment");
+        insert.setDouble(first + 4, (i % 100) / 100.0);
+        insert.setString(first + 5, "Matches your Java and Spring Boot skills");
+        insert.setString(first + 6, "ACTIVE");
+        insert.setTimestamp(first + 7, now);
+        insert.setTimestamp(first + 8, now);
+    }
+}
@@ -0,0 +1,110 @@
+package com.whattobuild.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.dto.RecommendResponse;
+import com.whattobuild.dto.RecommendationResult;
+import com.whattobuild.model.Project;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per /api/recommend payload: the Map-per-result pipeline that
+ * RecommendationResult replaced, against the typed result. Each operation
+ * builds {@code results} recommendations and serializes the response the way
+ * the controller does; compare gc.alloc.rate.norm (bytes/op) between the two.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.whattobuild.benchmark.RecommendationPayloadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationPayloadBenchmark {
+    
+    @Param({"10", "50"})
+    private int results;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private List<Project> projects;
+    private double[] scores;
+    
+    @Setup
+    public void setUp() {
+        projects = new ArrayList<>(results);
+        scores = new double[results];
+        for (int i = 0; i < results; i++) {
+            Project project = new Project();
+            project.setId((long) i);
+            project.setName("Project " + i);
+            project.setDescription("A project that exercises Java, Spring Boot and React");
+            project.setSkills(List.of("Java", "Spring Boot", "React"));
+            project.setDifficulty(Project.Difficulty.INTERMEDIATE);
+            projects.add(project);
+            scores[i] = 0.3 + i * 0.01;
+        }
+    }
+    
+    // The pre-change shape: a HashMap per result with a boxed score and eagerly rendered text
+    @Benchmark
+    public byte[] mapPipeline() throws Exception {
+        List<Map<String, Object>> recommendations = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            Project project = projects.get(i);
+            Map<String, Object> recommendation = new HashMap<>();
+            recommendation.put("project", project);
+            recommendation.put("matchScore", Math.round(scores[i] * 100.0) / 100.0);
+            recommendation.put("reasoning", reasoning(project, scores[i]));
+            recommendation.put("resumePoints", resumePoints(project));
+            recommendation.put("learningPlan", learningPlan(project));
+            recommendations.add(recommendation);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("recommendations", recommendations);
+        response.put("count", recommendations.size());
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public byte[] typedPipeline() throws Exception {
+        List<RecommendationResult> recommendations = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            Project project = projects.get(i);
+            double score = Math.round(scores[i] * 100.0) / 100.0;
+            recommendations.add(new RecommendationResult(project, score,
+                    () -> reasoning(project, score), () -> resumePoints(project), () -> learningPlan(project)));
+        }
+        return objectMapper.writeValueAsBytes(new RecommendResponse(true, recommendations, recommendations.size()));
+    }
+    
+    private static String reasoning(Project project, double score) {
+        return "This project matches your skills in " + String.join(", ", project.getSkills())
+                + " with a match score of " + Math.round(score * 100) + "%.";
+    }
+    
+    private static String resumePoints(Project project) {
+        return "Built " + project.getName() + " using " + String.join(", ", project.getSkills());
+    }
+    
+    private static String learningPlan(Project project) {
+        return "Week 1: fundamentals. Week 2: " + project.getName() + " core features. Week 3: polish and deploy.";
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecommendationPayloadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.whattobuild.service;
+
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.model.Project;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.whattobuild.service.StreamingCompletionParserTest.project;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchCompletionParserTest {
+    
+    private final Project chat = project(10L, "Chat App");
+    private final Project tracker = project(20L, "Expense Tracker");
+    private final Project weather = project(30L, "Weather Dashboard");
+    
+    private PromptBuilder.BatchPrompt prompt(List<List<Project>> candidates) {
+        return new PromptBuilder.BatchPrompt("", List.of(chat, tracker, weather), List.of(0, 1, 2), candidates, 0);
+    }
+    
+    private static List<Long> ids(List<RecommendationRefinement> section) {
+        return section.stream().map(RecommendationRefinement::getProjectId).toList();
+    }
+    
+    @Test
+    void splitsTheCompletionIntoStudentSections() {
+        String content = """
+                ### S1
+                1. Chat App | 80 | Realtime practice
+                2. Expense Tracker | 60 | CRUD basics
+                **S2**
+                3. Weather Dashboard | 75 | APIs
+                Student S3:
+                2. Expense Tracker | 55 | Budgeting
+                """;
+        
+        List<List<RecommendationRefinement>> sections = parse(content,
+                List.of(List.of(chat, tracker), List.of(weather), List.of(tracker)));
+        
+        assertEquals(List.of(10L, 20L), ids(sections.get(0)));
+        assertEquals(List.of(30L), ids(sections.get(1)));
+        assertEquals(List.of(20L), ids(sections.get(2)));
+    }
+    
+    @Test
+    void dropsProjectsOutsideTheStudentsCandidates() {
+        String content = """
+                ### S1
+                1. Chat App | 80 | Allowed
+                3. Weather Dashboard | 90 | Belongs to S2
+                ### S2
+                3. Weather Dashboard | 70 | Allowed
+                """;
+        
+        List<List<RecommendationRefinement>> sections = parse(content,
+                List.of(List.of(chat), List.of(weather), List.of()));
+        
+        assertEquals(List.of(10L), ids(sections.get(0)));
+        assertEquals(List.of(30L), ids(sections.get(1)));
+    }
+    
+    @Test
+    void skippedAndUnknownSectionsComeBackEmpty() {
+        String content = """
+                1. Chat App | 80 | Before any header
+                ### S7
+                2. Expense Tracker | 60 | No such student
+                ### S2
+                3. Weather Dashboard | 75 | APIs
+                """;
+        
+        List<List<RecommendationRefinement>> sections = parse(content,
+                List.of(List.of(chat, tracker), List.of(weather), List.of(tracker)));
+        
+        assertEquals(List.of(), sections.get(0));
+        assertEquals(List.of(30L), ids(sections.get(1)));
+        assertEquals(List.of(), sections.get(2));
+    }
+    
+    private List<List<RecommendationRefinement>> parse(String content, List<List<Project>> candidates) {
+        return BatchCompletionParser.parse(content, prompt(candidates));
+    }
+}
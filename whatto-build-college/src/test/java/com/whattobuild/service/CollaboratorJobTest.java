@@ -0,0 +1,156 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.CollaboratorJobConfig;
+import com.whattobuild.model.CollaboratorJobCheckpoint;
+import com.whattobuild.model.StudentCollaborator;
+import com.whattobuild.repository.CollaboratorJobCheckpointRepository;
+import com.whattobuild.repository.StudentCollaboratorRepository;
+import com.whattobuild.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CollaboratorJobTest {
+    
+    private static final List<Long> STUDENTS = List.of(1L, 2L, 3L, 4L, 5L);
+    
+    private final CollaboratorJobConfig config = new CollaboratorJobConfig();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final StudentCollaboratorRepository collaboratorRepository = mock(StudentCollaboratorRepository.class);
+    private final CollaboratorJobCheckpointRepository checkpointRepository = mock(CollaboratorJobCheckpointRepository.class);
+    private final StudentSimilarityIndex similarityIndex = mock(StudentSimilarityIndex.class);
+    private final Map<String, CollaboratorJobCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private final CollaboratorJob job = new CollaboratorJob();
+    
+    CollaboratorJobTest() {
+        config.setEnabled(true);
+        config.setTopK(5);
+        config.setMinSimilarity(0.5);
+        config.setThreads(2);
+        config.setChunkSize(2);
+        
+        // Checkpoints live in a map, so a rerun sees exactly what the previous run committed
+        when(checkpointRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            CollaboratorJobCheckpoint checkpoint = invocation.getArgument(0);
+            checkpoints.put(checkpoint.getBranch(), checkpoint);
+            return checkpoint;
+        });
+        CollaboratorStore store = new CollaboratorStore();
+        ReflectionTestUtils.setField(store, "collaboratorRepository", collaboratorRepository);
+        ReflectionTestUtils.setField(store, "checkpointRepository", checkpointRepository);
+        
+        when(userRepository.findStudentBranches()).thenReturn(List.of("CSE"));
+        when(userRepository.findStudentIdsByBranchAfter(eq("CSE"), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            return STUDENTS.stream().filter(id -> id > afterId).limit(page.getPageSize()).toList();
+        });
+        when(similarityIndex.similarTo(anyLong(), anyInt())).thenReturn(List.of(
+                new StudentSimilarityIndex.Match(9L, "Peer", "CSE", 0.9, List.of("java")),
+                new StudentSimilarityIndex.Match(8L, "Other", "CSE", 0.2, List.of())));
+        
+        ReflectionTestUtils.setField(job, "jobConfig", config);
+        ReflectionTestUtils.setField(job, "collaboratorStore", store);
+        ReflectionTestUtils.setField(job, "userRepository", userRepository);
+        ReflectionTestUtils.setField(job, "studentSimilarityIndex", similarityIndex);
+        ReflectionTestUtils.setField(job, "meterRegistry", new SimpleMeterRegistry());
+        job.init();
+    }
+    
+    @AfterEach
+    void shutdown() {
+        job.shutdown();
+    }
+    
+    private List<Long> afterIdsQueried() {
+        ArgumentCaptor<Long> afterIds = ArgumentCaptor.forClass(Long.class);
+        verify(userRepository, atLeastOnce()).findStudentIdsByBranchAfter(eq("CSE"), afterIds.capture(), any());
+        return afterIds.getAllValues();
+    }
+    
+    @Test
+    void aRunWritesEveryChunkAndCompletesTheBranch() {
+        job.run("2026-10-17");
+        
+        assertEquals(List.of(0L, 2L, 4L, 5L), afterIdsQueried());
+        CollaboratorJobCheckpoint checkpoint = checkpoints.get("CSE");
+        assertTrue(checkpoint.isCompleted());
+        assertEquals(5L, checkpoint.getLastStudentId());
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void peersBelowTheMinimumSimilarityAreLeftOut() {
+        job.run("2026-10-17");
+        
+        ArgumentCaptor<List<StudentCollaborator>> rows = ArgumentCaptor.forClass(List.class);
+        verify(collaboratorRepository, times(3)).saveAll(rows.capture());
+        rows.getAllValues().stream().flatMap(List::stream).forEach(row -> {
+            assertEquals(9L, row.getPeerId());
+            assertEquals(1, row.getRank());
+        });
+    }
+    
+    @Test
+    void anInterruptedRunResumesAfterTheLastCommittedChunk() {
+        // The second chunk fails before its checkpoint is saved, as a rolled-back transaction would leave it
+        doReturn(List.of()).doThrow(new IllegalStateException("deadlock")).doReturn(List.of())
+                .when(collaboratorRepository).saveAll(any());
+        
+        job.run("2026-10-17");
+        
+        assertFalse(checkpoints.get("CSE").isCompleted());
+        assertEquals(2L, checkpoints.get("CSE").getLastStudentId());
+        
+        job.run("2026-10-17");
+        
+        assertEquals(List.of(0L, 2L, 2L, 4L, 5L), afterIdsQueried());
+        verify(collaboratorRepository, times(1)).deleteByStudentIds(Set.of(1L, 2L));
+        assertTrue(checkpoints.get("CSE").isCompleted());
+        assertEquals(5L, checkpoints.get("CSE").getLastStudentId());
+    }
+    
+    @Test
+    void aCompletedBranchIsSkippedUntilTheNextRun() {
+        checkpoints.put("CSE", new CollaboratorJobCheckpoint("CSE", "2026-10-17", 5L, true, LocalDateTime.now()));
+        
+        job.run("2026-10-17");
+        verify(userRepository, never()).findStudentIdsByBranchAfter(any(), anyLong(), any());
+        
+        job.run("2026-10-18");
+        assertEquals(List.of(0L, 2L, 4L, 5L), afterIdsQueried());
+        assertEquals("2026-10-18", checkpoints.get("CSE").getRunId());
+    }
+    
+    @Test
+    void theNightlyTriggerDoesNotWaitForTheRun() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        when(userRepository.findStudentBranches()).thenAnswer(invocation -> {
+            release.await();
+            finished.countDown();
+            return List.of();
+        });
+        
+        job.runNightly();
+        
+        assertEquals(1, finished.getCount());
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+}
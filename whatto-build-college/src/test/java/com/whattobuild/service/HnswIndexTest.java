@@ -0,0 +1,106 @@
+package com.whattobuild.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+    
+    private static final int DIMENSIONS = 32;
+    
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+    
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+    
+    @Test
+    void findsMostOfTheTrueNearestNeighbours() {
+        Random random = new Random(11);
+        Map<Long, float[]> vectors = new HashMap<>();
+        HnswIndex index = new HnswIndex(16, 100);
+        for (long id = 0; id < 1000; id++) {
+            float[] vector = randomUnitVector(random);
+            vectors.put(id, vector);
+            index.add(id, vector);
+        }
+        
+        int k = 10;
+        int hits = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomUnitVector(random);
+            Set<Long> exact = new HashSet<>();
+            vectors.entrySet().stream()
+                    .sorted(Comparator.comparingDouble((Map.Entry<Long, float[]> e) -> -dot(query, e.getValue())))
+                    .limit(k)
+                    .forEach(e -> exact.add(e.getKey()));
+            for (Map.Entry<Long, Double> found : index.search(query, k, 64)) {
+                if (exact.contains(found.getKey())) hits++;
+            }
+        }
+        double recall = hits / (50.0 * k);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+    
+    @Test
+    void returnsResultsClosestFirstWithCosineSimilarity() {
+        HnswIndex index = new HnswIndex(4, 16);
+        index.add(1, new float[] {1, 0});
+        index.add(2, new float[] {0.6f, 0.8f});
+        index.add(3, new float[] {0, 1});
+        
+        List<Map.Entry<Long, Double>> found = index.search(new float[] {1, 0}, 3, 10);
+        
+        assertEquals(List.of(1L, 2L, 3L), found.stream().map(Map.Entry::getKey).toList());
+        assertEquals(1.0, found.get(0).getValue(), 1e-6);
+        assertEquals(0.6, found.get(1).getValue(), 1e-6);
+    }
+    
+    @Test
+    void removedIdsAreNeverReturned() {
+        HnswIndex index = new HnswIndex(4, 16);
+        index.add(1, new float[] {1, 0});
+        index.add(2, new float[] {0.6f, 0.8f});
+        index.remove(1);
+        
+        List<Map.Entry<Long, Double>> found = index.search(new float[] {1, 0}, 2, 10);
+        
+        assertEquals(List.of(2L), found.stream().map(Map.Entry::getKey).toList());
+        assertEquals(1, index.size());
+        assertEquals(1, index.deletedCount());
+        assertEquals(Set.of(2L), index.liveVectors().keySet());
+    }
+    
+    @Test
+    void addingAnExistingIdReplacesItsVector() {
+        HnswIndex index = new HnswIndex(4, 16);
+        index.add(1, new float[] {1, 0});
+        index.add(2, new float[] {0, 1});
+        index.add(1, new float[] {0, 1});
+        
+        assertEquals(2, index.size());
+        assertEquals(1.0, index.search(new float[] {0, 1}, 2, 10).get(1).getValue(), 1e-6);
+    }
+    
+    @Test
+    void anEmptyIndexFindsNothing() {
+        assertEquals(List.of(), new HnswIndex(4, 16).search(new float[] {1, 0}, 5, 10));
+    }
+}
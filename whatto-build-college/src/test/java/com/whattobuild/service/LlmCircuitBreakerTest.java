@@ -0,0 +1,128 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmCircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmCircuitBreakerTest {
+    
+    private final LlmCircuitBreakerConfig config = new LlmCircuitBreakerConfig();
+    private final LlmCircuitBreaker breaker = new LlmCircuitBreaker();
+    
+    @BeforeEach
+    void setUp() {
+        config.setWindowSize(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(0.5);
+        config.setSlowCallDuration(Duration.ofMillis(100));
+        config.setSlowCallRateThreshold(0.5);
+        config.setOpenDuration(Duration.ofMinutes(1));
+        config.setHalfOpenProbes(2);
+        ReflectionTestUtils.setField(breaker, "breakerConfig", config);
+        ReflectionTestUtils.setField(breaker, "meterRegistry", new SimpleMeterRegistry());
+        breaker.init();
+    }
+    
+    private void call(boolean success, long durationMillis) {
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(durationMillis, success);
+    }
+    
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false, 10);
+        }
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void staysClosedBelowTheMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            call(false, 10);
+        }
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void opensAtTheFailureRateThresholdAndRejectsCalls() {
+        call(true, 10);
+        call(true, 10);
+        call(false, 10);
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+        call(false, 10);
+        
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+    
+    @Test
+    void slowSuccessesCountTowardsOpening() {
+        for (int i = 0; i < 4; i++) {
+            call(true, 500);
+        }
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        for (int i = 0; i < 4; i++) {
+            call(true, 10);
+        }
+        // 4 failures in a window of 10 with 6 successes stays under 50%
+        call(false, 10);
+        call(false, 10);
+        call(true, 10);
+        call(true, 10);
+        call(false, 10);
+        call(false, 10);
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+        // The oldest successes roll out, so the next failure tips it over
+        call(false, 10);
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void halfOpenClosesAfterEnoughGoodProbes() {
+        config.setOpenDuration(Duration.ZERO);
+        open();
+        
+        assertTrue(breaker.tryAcquire());
+        assertEquals(LlmCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        // Both probe slots are taken
+        assertFalse(breaker.tryAcquire());
+        breaker.onResult(10, true);
+        breaker.onResult(10, true);
+        
+        assertEquals(LlmCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void halfOpenReopensOnABadProbe() {
+        config.setOpenDuration(Duration.ZERO);
+        open();
+        
+        assertTrue(breaker.tryAcquire());
+        breaker.onResult(500, true);
+        
+        assertEquals(LlmCircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void anIgnoredProbeFreesItsSlot() {
+        config.setOpenDuration(Duration.ZERO);
+        open();
+        
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onIgnored();
+        
+        assertTrue(breaker.tryAcquire());
+    }
+}
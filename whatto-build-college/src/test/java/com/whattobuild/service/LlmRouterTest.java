@@ -0,0 +1,171 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.LlmRouterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmRouterTest {
+    
+    private final LlmRouterConfig config = new LlmRouterConfig();
+    
+    // Answers each call with the next scripted future
+    private static final class FakeProvider implements LlmProvider {
+        
+        final String name;
+        final boolean configured;
+        final BlockingQueue<CompletableFuture<Map<String, Object>>> responses = new LinkedBlockingQueue<>();
+        final AtomicInteger calls = new AtomicInteger();
+        
+        FakeProvider(String name, boolean configured) {
+            this.name = name;
+            this.configured = configured;
+        }
+        
+        FakeProvider answering(CompletableFuture<Map<String, Object>> response) {
+            responses.add(response);
+            return this;
+        }
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public boolean isConfigured() {
+            return configured;
+        }
+        
+        @Override
+        public CompletableFuture<Map<String, Object>> chatCompletion(Map<String, Object> request) {
+            calls.incrementAndGet();
+            CompletableFuture<Map<String, Object>> response = responses.poll();
+            return response != null ? response : new CompletableFuture<>();
+        }
+    }
+    
+    private static CompletableFuture<Map<String, Object>> answer(String text) {
+        return CompletableFuture.completedFuture(Map.of("content", text));
+    }
+    
+    private LlmRouter router(LlmProvider... providers) {
+        LlmRouter router = new LlmRouter();
+        ReflectionTestUtils.setField(router, "providers", List.of(providers));
+        ReflectionTestUtils.setField(router, "routerConfig", config);
+        ReflectionTestUtils.setField(router, "meterRegistry", new SimpleMeterRegistry());
+        router.init();
+        return router;
+    }
+    
+    @Test
+    void onlyListedProvidersWithAKeyAreUsed() {
+        config.setProviders(List.of("openai"));
+        FakeProvider openai = new FakeProvider("openai", false);
+        FakeProvider gemini = new FakeProvider("gemini", true);
+        
+        LlmRouter router = router(openai, gemini);
+        
+        assertFalse(router.isAvailable());
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> router.chatCompletion(Map.of()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(0, gemini.calls.get());
+    }
+    
+    @Test
+    void aConfiguredProviderIsOnlyEnabledWhenListed() {
+        config.setProviders(List.of("gemini"));
+        FakeProvider openai = new FakeProvider("openai", true);
+        FakeProvider gemini = new FakeProvider("gemini", true);
+        
+        LlmRouter router = router(openai, gemini);
+        
+        assertFalse(router.isEnabled(openai));
+        assertTrue(router.isEnabled(gemini));
+    }
+    
+    @Test
+    void unmeasuredProvidersFollowThePreferredOrder() throws Exception {
+        config.setProviders(List.of("openai", "gemini"));
+        config.setPreferred(List.of("gemini", "openai"));
+        config.setHedgingEnabled(false);
+        FakeProvider openai = new FakeProvider("openai", true).answering(answer("openai"));
+        FakeProvider gemini = new FakeProvider("gemini", true).answering(answer("gemini"));
+        
+        Map<String, Object> response = router(openai, gemini).chatCompletion(Map.of()).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("gemini", response.get("content"));
+        assertEquals(0, openai.calls.get());
+    }
+    
+    @Test
+    void failsOverImmediatelyWhenThePrimaryFails() throws Exception {
+        config.setProviders(List.of("openai", "gemini"));
+        config.setHedgingEnabled(false);
+        FakeProvider openai = new FakeProvider("openai", true)
+                .answering(CompletableFuture.failedFuture(new IllegalStateException("HTTP 500")));
+        FakeProvider gemini = new FakeProvider("gemini", true).answering(answer("gemini"));
+        
+        Map<String, Object> response = router(openai, gemini).chatCompletion(Map.of()).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("gemini", response.get("content"));
+    }
+    
+    @Test
+    void failsWhenEveryProviderFails() {
+        config.setProviders(List.of("openai", "gemini"));
+        config.setHedgingEnabled(false);
+        FakeProvider openai = new FakeProvider("openai", true)
+                .answering(CompletableFuture.failedFuture(new IllegalStateException("openai down")));
+        FakeProvider gemini = new FakeProvider("gemini", true)
+                .answering(CompletableFuture.failedFuture(new IllegalStateException("gemini down")));
+        
+        CompletableFuture<Map<String, Object>> result = router(openai, gemini).chatCompletion(Map.of());
+        
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void hedgesToTheNextProviderWhenThePrimaryIsSlow() throws Exception {
+        config.setProviders(List.of("openai", "gemini"));
+        config.setDefaultHedgeDelay(Duration.ofMillis(20));
+        config.setMinHedgeDelay(Duration.ZERO);
+        config.setHedgeBudget(1.0);
+        // openai never answers
+        FakeProvider openai = new FakeProvider("openai", true);
+        FakeProvider gemini = new FakeProvider("gemini", true).answering(answer("gemini"));
+        
+        Map<String, Object> response = router(openai, gemini).chatCompletion(Map.of()).get(5, TimeUnit.SECONDS);
+        
+        assertEquals("gemini", response.get("content"));
+        assertEquals(1, openai.calls.get());
+        assertEquals(1, gemini.calls.get());
+    }
+    
+    @Test
+    void anEmptyHedgeBudgetMeansNoHedge() throws Exception {
+        config.setProviders(List.of("openai", "gemini"));
+        config.setDefaultHedgeDelay(Duration.ofMillis(20));
+        config.setMinHedgeDelay(Duration.ZERO);
+        config.setHedgeBudget(0.0);
+        CompletableFuture<Map<String, Object>> slow = new CompletableFuture<>();
+        FakeProvider openai = new FakeProvider("openai", true).answering(slow);
+        FakeProvider gemini = new FakeProvider("gemini", true).answering(answer("gemini"));
+        
+        CompletableFuture<Map<String, Object>> result = router(openai, gemini).chatCompletion(Map.of());
+        Thread.sleep(200);
+        slow.complete(Map.of("content", "openai"));
+        
+        assertEquals("openai", result.get(5, TimeUnit.SECONDS).get("content"));
+        assertEquals(0, gemini.calls.get());
+    }
+}
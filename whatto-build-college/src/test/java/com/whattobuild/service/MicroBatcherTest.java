@@ -0,0 +1,61 @@
+package com.whattobuild.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+    
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+    
+    // Upper-cases every item and records the batch it arrived in
+    private void flush(List<MicroBatcher.Entry<String, String>> batch) {
+        batches.add(batch.stream().map(MicroBatcher.Entry::getItem).toList());
+        batch.forEach(entry -> entry.getFuture().complete(entry.getItem().toUpperCase()));
+    }
+    
+    @Test
+    void itemsWithinTheWindowShareOneBatch() throws Exception {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(scheduler, 50, 10, this::flush);
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+        
+        assertEquals("A", a.get(5, TimeUnit.SECONDS));
+        assertEquals("B", b.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+    
+    @Test
+    void aFullBatchFlushesWithoutWaitingForTheWindow() throws Exception {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(scheduler, 60_000, 2, this::flush);
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+        
+        assertEquals("A", a.get(5, TimeUnit.SECONDS));
+        assertEquals("B", b.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a", "b")), batches);
+    }
+    
+    @Test
+    void aThrowingFlusherFailsTheWholeBatch() {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>(scheduler, 10, 10, batch -> {
+            throw new IllegalStateException("flush failed");
+        });
+        CompletableFuture<String> a = batcher.submit("a");
+        CompletableFuture<String> b = batcher.submit("b");
+        
+        ExecutionException error = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,110 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.RecommendationExpiryConfig;
+import com.whattobuild.model.Recommendation.Status;
+import com.whattobuild.repository.RecommendationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecommendationExpiryJobTest {
+    
+    private final RecommendationExpiryConfig config = new RecommendationExpiryConfig();
+    private final RecommendationRepository repository = mock(RecommendationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecommendationExpiryJob job = new RecommendationExpiryJob();
+    
+    RecommendationExpiryJobTest() {
+        config.setTtl(Duration.ofDays(7));
+        config.setRetention(Duration.ofDays(30));
+        config.setChunkSize(2);
+        config.setPause(Duration.ZERO);
+        ReflectionTestUtils.setField(job, "expiryConfig", config);
+        ReflectionTestUtils.setField(job, "recommendationRepository", repository);
+        ReflectionTestUtils.setField(job, "meterRegistry", meterRegistry);
+        when(repository.findIdsByStatusUpdatedBefore(any(), any(), any())).thenReturn(List.of());
+    }
+    
+    private double swept(String result) {
+        return meterRegistry.get("recommendations.sweep.rows").tag("result", result).counter().count();
+    }
+    
+    @Test
+    void activeRowsAreExpiredOneChunkAtATime() {
+        when(repository.findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(repository.updateStatus(any(), eq(Status.ACTIVE), eq(Status.EXPIRED), any()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        
+        job.sweep();
+        
+        ArgumentCaptor<Pageable> pages = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository, times(3)).findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), pages.capture());
+        pages.getAllValues().forEach(page -> assertEquals(2, page.getPageSize()));
+        verify(repository).updateStatus(eq(List.of(1L, 2L)), any(), any(), any());
+        verify(repository).updateStatus(eq(List.of(3L, 4L)), any(), any(), any());
+        verify(repository).updateStatus(eq(List.of(5L)), any(), any(), any());
+        assertEquals(5, swept("expired"));
+    }
+    
+    @Test
+    void aChunkRefreshedBeforeItsUpdateStopsThePass() {
+        when(repository.findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), any())).thenReturn(List.of(1L, 2L));
+        // The update re-checks status and updated_at, so rows refreshed meanwhile are not counted
+        when(repository.updateStatus(any(), any(), any(), any())).thenReturn(0);
+        
+        job.sweep();
+        
+        verify(repository, times(1)).findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), any());
+        assertEquals(0, swept("expired"));
+    }
+    
+    @Test
+    void expiredRowsArePurgedOnceTheRetentionHasPassed() {
+        when(repository.findIdsByStatusUpdatedBefore(eq(Status.EXPIRED), any(), any())).thenReturn(List.of(9L));
+        when(repository.deleteByIds(any(), any(), any())).thenReturn(1);
+        
+        LocalDateTime start = LocalDateTime.now();
+        job.sweep();
+        
+        ArgumentCaptor<LocalDateTime> expireBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> purgeBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), expireBefore.capture(), any());
+        verify(repository).deleteByIds(eq(List.of(9L)), eq(Status.EXPIRED), purgeBefore.capture());
+        assertFalse(expireBefore.getValue().isBefore(start.minusDays(7)));
+        assertEquals(expireBefore.getValue().minusDays(30), purgeBefore.getValue());
+        assertEquals(1, swept("purged"));
+    }
+    
+    @Test
+    void aFailedSweepLeavesTheNextOneFreeToRun() {
+        when(repository.findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), any()))
+                .thenThrow(new IllegalStateException("lock wait timeout"))
+                .thenReturn(List.of());
+        
+        job.sweep();
+        job.sweep();
+        
+        verify(repository, times(2)).findIdsByStatusUpdatedBefore(eq(Status.ACTIVE), any(), any());
+        verify(repository, times(1)).findIdsByStatusUpdatedBefore(eq(Status.EXPIRED), any(), any());
+    }
+    
+    @Test
+    void nothingRunsWhenDisabled() {
+        config.setEnabled(false);
+        
+        job.sweep();
+        
+        verifyNoInteractions(repository);
+    }
+}
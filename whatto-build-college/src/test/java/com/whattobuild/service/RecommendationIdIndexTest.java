@@ -0,0 +1,100 @@
+package com.whattobuild.service;
+
+import com.whattobuild.repository.RecommendationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RecommendationIdIndexTest {
+    
+    private final RecommendationRepository recommendationRepository = mock(RecommendationRepository.class);
+    private final WriteBehindStore writeBehindStore = mock(WriteBehindStore.class);
+    private final AtomicLong sequence = new AtomicLong(1000);
+    private final RecommendationIdIndex index = new RecommendationIdIndex();
+    
+    @BeforeEach
+    void setUp() {
+        // Student 1 already has project 10 stored as recommendation 7
+        List<Object[]> stored = new ArrayList<>();
+        stored.add(new Object[] {7L, 1L, 10L});
+        when(recommendationRepository.findAllKeys()).thenReturn(stored);
+        when(writeBehindStore.reserveRecommendationIds(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            List<Long> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) ids.add(sequence.incrementAndGet());
+            return ids;
+        });
+        ReflectionTestUtils.setField(index, "recommendationRepository", recommendationRepository);
+        ReflectionTestUtils.setField(index, "writeBehindStore", writeBehindStore);
+        index.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+    
+    @Test
+    void reusesStoredIdsAndReservesNewOnes() {
+        Map<Long, Long> ids = index.assign(1L, List.of(10L, 20L));
+        
+        assertEquals(7L, ids.get(10L));
+        assertTrue(ids.get(20L) > 1000);
+        assertEquals(ids, index.assign(1L, List.of(10L, 20L)));
+    }
+    
+    @Test
+    void differentStudentsGetDifferentIds() {
+        Long first = index.assign(1L, List.of(30L)).get(30L);
+        Long second = index.assign(2L, List.of(30L)).get(30L);
+        
+        assertNotEquals(first, second);
+    }
+    
+    @Test
+    void neverQueriesTheRepositoryAfterStartup() {
+        index.assign(1L, List.of(10L, 20L, 30L));
+        index.assign(3L, List.of(10L));
+        
+        verify(recommendationRepository, times(1)).findAllKeys();
+        verifyNoMoreInteractions(recommendationRepository);
+    }
+    
+    // Two refreshes adding the same project used to reserve an id each; only one row was ever written
+    @Test
+    void overlappingRefreshesForANewProjectShareOneId() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (long project = 100; project < 150; project++) {
+                List<Long> projects = List.of(10L, project);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Map<Long, Long>>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return index.assign(1L, projects);
+                    }));
+                }
+                start.countDown();
+                
+                Set<Long> ids = new HashSet<>();
+                for (Future<Map<Long, Long>> result : results) {
+                    ids.add(result.get(5, TimeUnit.SECONDS).get(project));
+                }
+                assertEquals(1, ids.size(), "project " + project + " got " + ids);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.whattobuild.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    
+    @Test
+    void callersDuringAFlightShareItsResult() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger shared = new AtomicInteger();
+        
+        CompletableFuture<Integer> first = flights.execute("k", () -> {
+            calls.incrementAndGet();
+            return source;
+        }, shared::incrementAndGet);
+        CompletableFuture<Integer> second = flights.execute("k", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        }, shared::incrementAndGet);
+        
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(1, shared.get());
+        source.complete(42);
+        assertEquals(42, second.get());
+    }
+    
+    @Test
+    void differentKeysDoNotShare() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> a = flights.execute("a", CompletableFuture::new, null);
+        CompletableFuture<Integer> b = flights.execute("b", CompletableFuture::new, null);
+        assertNotSame(a, b);
+    }
+    
+    @Test
+    void aCompletedFlightIsNotReused() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        assertEquals(1, flights.execute("k", () -> CompletableFuture.completedFuture(1), null).get());
+        assertEquals(2, flights.execute("k", () -> CompletableFuture.completedFuture(2), null).get());
+    }
+    
+    @Test
+    void aThrowingSupplierFailsTheFlightAndClearsIt() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> failed = flights.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        }, null);
+        
+        ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(3, flights.execute("k", () -> CompletableFuture.completedFuture(3), null).get());
+    }
+}
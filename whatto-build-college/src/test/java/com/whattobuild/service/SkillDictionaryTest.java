@@ -0,0 +1,65 @@
+package com.whattobuild.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkillDictionaryTest {
+    
+    @Test
+    void internAssignsStableDenseIds() {
+        SkillDictionary dictionary = new SkillDictionary();
+        assertEquals(0, dictionary.intern("Java"));
+        assertEquals(1, dictionary.intern("React"));
+        assertEquals(0, dictionary.intern("Java"));
+    }
+    
+    @Test
+    void encodeAndDecodeRoundTripPastOneWord() {
+        SkillDictionary dictionary = new SkillDictionary();
+        List<String> skills = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            skills.add("skill-" + i);
+        }
+        long[] bits = dictionary.encode(skills);
+        
+        assertEquals(3, bits.length);
+        assertEquals(130, SkillDictionary.cardinality(bits));
+        // Decoded in id order, which is intern order here
+        assertEquals(skills, dictionary.decode(bits));
+    }
+    
+    @Test
+    void encodeOfNothingIsEmpty() {
+        SkillDictionary dictionary = new SkillDictionary();
+        assertEquals(0, dictionary.encode(null).length);
+        assertEquals(0, dictionary.encode(List.of()).length);
+    }
+    
+    @Test
+    void canonicalizeTrimsDeduplicatesAndSorts() {
+        assertEquals(List.of("Java", "React"),
+                SkillDictionary.canonicalize(Arrays.asList(" React", "Java", null, "", "Java ")));
+        assertEquals(List.of(), SkillDictionary.canonicalize(null));
+    }
+    
+    @Test
+    void setOperationsHandleDifferentLengths() {
+        SkillDictionary dictionary = new SkillDictionary();
+        for (int i = 0; i < 70; i++) {
+            dictionary.intern("skill-" + i);
+        }
+        long[] small = dictionary.encode(List.of("skill-1", "skill-2"));
+        long[] large = dictionary.encode(List.of("skill-2", "skill-3", "skill-69"));
+        long[] other = dictionary.encode(List.of("skill-5"));
+        
+        assertEquals(1, SkillDictionary.intersectionCount(small, large));
+        assertTrue(SkillDictionary.intersects(small, large));
+        assertFalse(SkillDictionary.intersects(small, other));
+        assertEquals(List.of("skill-2"), dictionary.decode(SkillDictionary.and(large, small)));
+    }
+}
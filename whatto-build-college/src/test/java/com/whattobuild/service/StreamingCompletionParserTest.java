@@ -0,0 +1,103 @@
+package com.whattobuild.service;
+
+import com.whattobuild.dto.RecommendationRefinement;
+import com.whattobuild.model.Project;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCompletionParserTest {
+    
+    private final List<Project> projects = List.of(
+            project(10L, "Chat App"),
+            project(20L, "Expense Tracker"),
+            project(30L, "Weather Dashboard"));
+    private final List<RecommendationRefinement> refinements = new ArrayList<>();
+    private final StreamingCompletionParser parser = new StreamingCompletionParser(projects, refinements::add);
+    
+    static Project project(Long id, String name) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName(name);
+        return project;
+    }
+    
+    @Test
+    void emitsEachLineOnceItsNewlineArrives() {
+        parser.accept("2. Expense Tracker | 8");
+        assertTrue(refinements.isEmpty());
+        parser.accept("5% | Uses your Java\n1. Chat");
+        
+        assertEquals(1, refinements.size());
+        RecommendationRefinement refinement = refinements.get(0);
+        assertEquals(20L, refinement.getProjectId());
+        assertEquals(0.85, refinement.getMatchScore());
+        assertEquals("Uses your Java", refinement.getReasoning());
+    }
+    
+    @Test
+    void finishFlushesAnUnterminatedLastLine() {
+        parser.accept("3. Weather Dashboard | 70 | Good first API project");
+        parser.finish();
+        
+        assertEquals(List.of(30L), refinements.stream().map(RecommendationRefinement::getProjectId).toList());
+    }
+    
+    @Test
+    void fallsBackToTheEchoedNumberWhenTheNameIsUnknown() {
+        parser.accept("1. Realtime messenger | 60 | Sockets\n");
+        
+        assertEquals(10L, refinements.get(0).getProjectId());
+    }
+    
+    @Test
+    void anExactNameWinsOverALongerNameThatContainsIt() {
+        List<RecommendationRefinement> found = new ArrayList<>();
+        StreamingCompletionParser nested = new StreamingCompletionParser(
+                List.of(project(10L, "Chat App Pro"), project(20L, "Chat App")), found::add);
+        
+        nested.accept("1. **Chat App** | 70 | Exact match\n");
+        
+        assertEquals(20L, found.get(0).getProjectId());
+    }
+    
+    @Test
+    void theEchoedNumberWinsOverASubstringMatch() {
+        parser.accept("3. Chat App style weather board | 60 | Numbered\n");
+        
+        assertEquals(30L, refinements.get(0).getProjectId());
+    }
+    
+    @Test
+    void fallsBackToTheLongestContainedName() {
+        List<RecommendationRefinement> found = new ArrayList<>();
+        StreamingCompletionParser nested = new StreamingCompletionParser(
+                List.of(project(10L, "Chat App"), project(20L, "Chat App Pro")), found::add);
+        
+        nested.accept("Build a Chat App Pro clone | 70 | No number\n");
+        nested.accept("99. Chat App for teams | 60 | Out of range\n");
+        
+        assertEquals(List.of(20L, 10L), found.stream().map(RecommendationRefinement::getProjectId).toList());
+    }
+    
+    @Test
+    void ignoresRepeatsMalformedLinesAndUnknownProjects() {
+        parser.accept("Here are my picks:\n");
+        parser.accept("2. Expense Tracker | 80 | First\n");
+        parser.accept("2. Expense Tracker | 90 | Again\n");
+        parser.accept("9. Something Else | 50 | Not in the list\n");
+        
+        assertEquals(1, refinements.size());
+        assertEquals("First", refinements.get(0).getReasoning());
+    }
+    
+    @Test
+    void capsScoresAtOneHundredPercent() {
+        parser.accept("1. Chat App | 150 | Overexcited\n");
+        
+        assertEquals(1.0, refinements.get(0).getMatchScore());
+    }
+}
@@ -0,0 +1,111 @@
+package com.whattobuild.service;
+
+import com.whattobuild.config.SimilarityConfig;
+import com.whattobuild.model.User;
+import com.whattobuild.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentSimilarityIndexTest {
+    
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<User> cohort = new ArrayList<>();
+    private StudentSimilarityIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new StudentSimilarityIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "skillDictionary", new SkillDictionary());
+        ReflectionTestUtils.setField(index, "similarityConfig", new SimilarityConfig());
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        index.init();
+        when(userRepository.findStudentsWithSkills()).thenReturn(cohort);
+    }
+    
+    private static User student(long id, String... skills) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Student " + id);
+        user.setRole(User.Role.STUDENT);
+        user.setSkills(List.of(skills));
+        return user;
+    }
+    
+    @Test
+    void identicalSkillSetsAlwaysShareABucket() {
+        cohort.add(student(1, "Java", "Spring Boot", "MySQL"));
+        cohort.add(student(2, "MySQL", "Java", "Spring Boot"));
+        
+        List<StudentSimilarityIndex.Match> matches = index.similarTo(1L, 10);
+        
+        assertEquals(1, matches.size());
+        assertEquals(2L, matches.get(0).studentId());
+        assertEquals(1.0, matches.get(0).similarity());
+        assertEquals(List.of("Java", "MySQL", "Spring Boot"), matches.get(0).commonSkills().stream().sorted().toList());
+    }
+    
+    @Test
+    void disjointSkillSetsAreNeverMatched() {
+        cohort.add(student(1, "Java", "Spring Boot"));
+        cohort.add(student(2, "Arduino", "C++"));
+        
+        assertEquals(List.of(), index.similarTo(1L, 10));
+    }
+    
+    @Test
+    void ranksBySimilarityAndHonoursTheLimit() {
+        List<String> base = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            base.add("skill-" + i);
+        }
+        cohort.add(student(1, base.toArray(String[]::new)));
+        // Jaccard 9/10 and 10/11: both near-duplicates, so LSH should surface them
+        cohort.add(student(2, base.subList(0, 9).toArray(String[]::new)));
+        List<String> superset = new ArrayList<>(base);
+        superset.add("extra");
+        cohort.add(student(3, superset.toArray(String[]::new)));
+        
+        List<StudentSimilarityIndex.Match> matches = index.similarTo(1L, 1);
+        
+        assertEquals(1, matches.size());
+        assertEquals(3L, matches.get(0).studentId());
+    }
+    
+    @Test
+    void updateReplacesTheOldSkillSet() {
+        cohort.add(student(1, "Java", "Spring Boot"));
+        cohort.add(student(2, "Java", "Spring Boot"));
+        assertEquals(1, index.similarTo(1L, 10).size());
+        
+        index.update(student(2, "Arduino", "C++"));
+        
+        assertEquals(List.of(), index.similarTo(1L, 10));
+    }
+    
+    @Test
+    void removedStudentsAreNotMatchedOrFound() {
+        cohort.add(student(1, "Java"));
+        cohort.add(student(2, "Java"));
+        index.similarTo(1L, 10);
+        
+        index.remove(2L);
+        
+        assertEquals(List.of(), index.similarTo(1L, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.similarTo(2L, 10));
+    }
+    
+    @Test
+    void similarityIsExactJaccard() {
+        assertEquals(0.5, index.similarity(student(1, "Java", "Python"), student(2, "Java", "Python", "React", "SQL")));
+    }
+}
@@ -0,0 +1,94 @@
+package com.whattobuild.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKSelectorTest {
+    
+    @Test
+    void keepsTheBestScoresBestFirst() {
+        TopKSelector selector = new TopKSelector(3);
+        double[] scores = {0.2, 0.9, 0.5, 0.1, 0.7, 0.3};
+        for (int id = 0; id < scores.length; id++) {
+            selector.offer(id, scores[id]);
+        }
+        selector.sortDescending();
+        
+        assertEquals(3, selector.size());
+        assertEquals(1, selector.idAt(0));
+        assertEquals(4, selector.idAt(1));
+        assertEquals(2, selector.idAt(2));
+        assertEquals(0.9, selector.scoreAt(0));
+    }
+    
+    @Test
+    void tiesFavourTheLowerId() {
+        TopKSelector selector = new TopKSelector(2);
+        selector.offer(5, 0.5);
+        selector.offer(3, 0.5);
+        selector.offer(9, 0.5);
+        selector.offer(1, 0.5);
+        selector.sortDescending();
+        
+        assertEquals(1, selector.idAt(0));
+        assertEquals(3, selector.idAt(1));
+    }
+    
+    @Test
+    void matchesAStableSortOfRandomScores() {
+        Random random = new Random(7);
+        TopKSelector selector = new TopKSelector(10);
+        List<double[]> all = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            // Coarse scores so ties are common
+            double score = random.nextInt(50) / 50.0;
+            selector.offer(id, score);
+            all.add(new double[] {id, score});
+        }
+        all.sort((a, b) -> Double.compare(b[1], a[1]));
+        selector.sortDescending();
+        
+        for (int i = 0; i < 10; i++) {
+            assertEquals((int) all.get(i)[0], selector.idAt(i));
+        }
+    }
+    
+    @Test
+    void offerAllMergesPartialSelections() {
+        TopKSelector left = new TopKSelector(2);
+        left.offer(0, 0.1);
+        left.offer(1, 0.8);
+        TopKSelector right = new TopKSelector(2);
+        right.offer(2, 0.9);
+        right.offer(3, 0.4);
+        
+        TopKSelector merged = new TopKSelector(2);
+        merged.offerAll(left);
+        merged.offerAll(right);
+        merged.sortDescending();
+        
+        assertEquals(2, merged.idAt(0));
+        assertEquals(1, merged.idAt(1));
+    }
+    
+    @Test
+    void zeroCapacityKeepsNothing() {
+        TopKSelector selector = new TopKSelector(0);
+        selector.offer(1, 1.0);
+        selector.sortDescending();
+        assertEquals(0, selector.size());
+    }
+    
+    @Test
+    void rejectsOffersAfterSorting() {
+        TopKSelector selector = new TopKSelector(1);
+        selector.offer(1, 1.0);
+        selector.sortDescending();
+        assertThrows(IllegalStateException.class, () -> selector.offer(2, 2.0));
+    }
+}
@@ -0,0 +1,173 @@
+package com.whattobuild.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.whattobuild.config.WriteBehindConfig;
+import com.whattobuild.model.Comparison;
+import com.whattobuild.model.Recommendation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class WriteBehindQueueTest {
+    
+    @TempDir
+    Path dir;
+    
+    private final WriteBehindConfig config = new WriteBehindConfig();
+    private final WriteBehindStore store = mock(WriteBehindStore.class);
+    private final List<Long> writtenIds = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    
+    WriteBehindQueueTest() {
+        config.setFlushInterval(Duration.ofMillis(20));
+        config.setOfferTimeout(Duration.ofMillis(20));
+        config.setShutdownTimeout(Duration.ofSeconds(5));
+        config.setMaxAttempts(1);
+        doAnswer(invocation -> {
+            List<Recommendation> rows = invocation.getArgument(0);
+            synchronized (writtenIds) {
+                rows.forEach(row -> writtenIds.add(row.getId()));
+            }
+            return null;
+        }).when(store).writeRecommendations(anyList());
+    }
+    
+    private WriteBehindQueue queue() {
+        meterRegistry = new SimpleMeterRegistry();
+        WriteBehindQueue queue = new WriteBehindQueue();
+        ReflectionTestUtils.setField(queue, "writeBehindConfig", config);
+        ReflectionTestUtils.setField(queue, "writeBehindStore", store);
+        ReflectionTestUtils.setField(queue, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(queue, "meterRegistry", meterRegistry);
+        queue.init();
+        return queue;
+    }
+    
+    private void useJournal() {
+        config.setJournalEnabled(true);
+        config.setJournalPath(dir.resolve("write-behind.jsonl").toString());
+    }
+    
+    private static Recommendation recommendation(long id) {
+        Recommendation recommendation = new Recommendation();
+        recommendation.setId(id);
+        recommendation.setStudentId(1L);
+        recommendation.setProjectId(id);
+        recommendation.setMatchScore(0.5);
+        return recommendation;
+    }
+    
+    private static Comparison comparison(long student1, long student2) {
+        Comparison comparison = new Comparison();
+        comparison.setStudent1(student1);
+        comparison.setStudent2(student2);
+        comparison.setSimilarityScore(0.5);
+        return comparison;
+    }
+    
+    private double writes(String result) {
+        return meterRegistry.get("writebehind.writes").tag("result", result).counter().count();
+    }
+    
+    @Test
+    void aFullQueueMakesProducersWaitAndThenShedsTheWrite() {
+        config.setCapacity(1);
+        // Not started, so nothing drains the queue
+        WriteBehindQueue queue = queue();
+        
+        long start = System.nanoTime();
+        queue.submitRecommendations(List.of(recommendation(1), recommendation(2), recommendation(3)));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        
+        assertEquals(1, writes("queued"));
+        assertEquals(2, writes("shed"));
+        assertTrue(waitedMillis >= 40, "waited " + waitedMillis + "ms");
+        assertTrue(queue.pendingRecommendation(1L).isPresent());
+        assertTrue(queue.pendingRecommendation(2L).isEmpty());
+        verifyNoInteractions(store);
+        queue.shutdown();
+    }
+    
+    @Test
+    void onlyAcceptedRowsAreJournaled() throws Exception {
+        useJournal();
+        config.setCapacity(1);
+        WriteBehindQueue queue = queue();
+        
+        queue.submitRecommendations(List.of(recommendation(1), recommendation(2)));
+        queue.shutdown();
+        
+        List<String> lines = Files.readAllLines(dir.resolve("write-behind.jsonl"));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"id\":1"), lines.get(0));
+    }
+    
+    @Test
+    void shutdownFlushesEverythingQueued() {
+        config.setBatchSize(2);
+        WriteBehindQueue queue = queue();
+        queue.start();
+        
+        for (long id = 1; id <= 5; id++) {
+            queue.submitRecommendations(List.of(recommendation(id)));
+        }
+        queue.shutdown();
+        
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), writtenIds.stream().sorted().toList());
+        assertEquals(5, writes("written"));
+        assertTrue(queue.pendingRecommendation(5L).isEmpty());
+    }
+    
+    @Test
+    void aFailingComparisonDoesNotDropTheRecommendationsBatchedWithIt() {
+        doThrow(new IllegalStateException("deadlock")).when(store).writeComparisons(anyList());
+        WriteBehindQueue queue = queue();
+        queue.start();
+        
+        queue.submitRecommendations(List.of(recommendation(1), recommendation(2)));
+        queue.submitComparison(comparison(1, 2));
+        queue.shutdown();
+        
+        assertEquals(List.of(1L, 2L), writtenIds.stream().sorted().toList());
+        assertEquals(2, writes("written"));
+        assertEquals(1, writes("failed"));
+    }
+    
+    @Test
+    void journaledRowsAreReplayedOnceAfterACrash() {
+        useJournal();
+        // First process: rows are journaled but the writer never runs before the "crash"
+        WriteBehindQueue crashed = queue();
+        crashed.submitRecommendations(List.of(recommendation(1), recommendation(2)));
+        crashed.submitComparison(comparison(3, 4));
+        crashed.shutdown();
+        verifyNoInteractions(store);
+        
+        // Second process replays them before taking new writes
+        WriteBehindQueue restarted = queue();
+        restarted.start();
+        restarted.shutdown();
+        assertEquals(List.of(1L, 2L), writtenIds.stream().sorted().toList());
+        verify(store).writeComparisons(argThat(rows -> rows.size() == 1 && rows.get(0).getStudent1() == 3L));
+        assertFalse(Files.exists(dir.resolve("write-behind.jsonl.replay")));
+        
+        // Third process: nothing left to replay
+        writtenIds.clear();
+        WriteBehindQueue again = queue();
+        again.start();
+        again.shutdown();
+        assertTrue(writtenIds.isEmpty());
+        verify(store, times(1)).writeComparisons(anyList());
+    }
+}
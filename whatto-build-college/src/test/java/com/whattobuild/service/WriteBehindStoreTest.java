@@ -0,0 +1,128 @@
+package com.whattobuild.service;
+
+import com.whattobuild.model.Comparison;
+import com.whattobuild.model.Recommendation;
+import com.whattobuild.repository.ComparisonRepository;
+import com.whattobuild.repository.RecommendationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WriteBehindStoreTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+    
+    private final RecommendationRepository recommendationRepository = mock(RecommendationRepository.class);
+    private final ComparisonRepository comparisonRepository = mock(ComparisonRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final WriteBehindStore store = new WriteBehindStore();
+    
+    WriteBehindStoreTest() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(store, "recommendationRepository", recommendationRepository);
+        ReflectionTestUtils.setField(store, "comparisonRepository", comparisonRepository);
+        ReflectionTestUtils.setField(store, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(store, "persistTimer", Timer.builder("persist").register(meterRegistry));
+        ReflectionTestUtils.setField(store, "persistedRows", DistributionSummary.builder("rows").register(meterRegistry));
+    }
+    
+    private static Recommendation recommendation(long id, long projectId, LocalDateTime updatedAt) {
+        Recommendation recommendation = new Recommendation();
+        recommendation.setId(id);
+        recommendation.setStudentId(1L);
+        recommendation.setProjectId(projectId);
+        recommendation.setMatchScore(0.5);
+        recommendation.setCreatedAt(updatedAt);
+        recommendation.setUpdatedAt(updatedAt);
+        return recommendation;
+    }
+    
+    private static Comparison comparison(long student1, long student2, double score, LocalDateTime createdAt) {
+        Comparison comparison = new Comparison();
+        comparison.setStudent1(student1);
+        comparison.setStudent2(student2);
+        comparison.setSimilarityScore(score);
+        comparison.setCreatedAt(createdAt);
+        return comparison;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String sqlPrefix) {
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlPrefix), args.capture());
+        return args.getValue();
+    }
+    
+    @Test
+    void newPairsAreInsertedAndStoredPairsUpdatedUnderAFreshnessGuard() {
+        List<Object[]> stored = new ArrayList<>();
+        stored.add(new Object[] {7L, 1L, 10L});
+        when(recommendationRepository.findKeys(any(), any())).thenReturn(stored);
+        
+        store.writeRecommendations(List.of(recommendation(7, 10, NOW), recommendation(50, 20, NOW)));
+        
+        List<Object[]> inserts = batch("INSERT");
+        assertEquals(1, inserts.size());
+        assertEquals(50L, inserts.get(0)[0]);
+        List<Object[]> updates = batch("UPDATE");
+        assertEquals(1, updates.size());
+        // ... WHERE id = ? AND updated_at <= ?: a replayed older row can never roll the stored one back
+        Object[] update = updates.get(0);
+        assertEquals(7L, update[update.length - 2]);
+        assertEquals(update[4], update[update.length - 1]);
+    }
+    
+    @Test
+    void theNewestRowOfAPairInABatchWins() {
+        when(recommendationRepository.findKeys(any(), any())).thenReturn(List.of());
+        
+        store.writeRecommendations(List.of(recommendation(50, 10, NOW.minusMinutes(1)), recommendation(50, 10, NOW)));
+        
+        List<Object[]> inserts = batch("INSERT");
+        assertEquals(1, inserts.size());
+        assertEquals(Timestamp.valueOf(NOW), inserts.get(0)[inserts.get(0).length - 1]);
+    }
+    
+    @Test
+    void storedComparisonsAreLoadedWithOneQuery() {
+        when(comparisonRepository.findPairs(any(), any())).thenReturn(List.of(comparison(1, 2, 0.1, NOW.minusDays(1))));
+        
+        store.writeComparisons(List.of(comparison(1, 2, 0.8, NOW), comparison(3, 4, 0.6, NOW), comparison(5, 6, 0.4, NOW)));
+        
+        verify(comparisonRepository, times(1)).findPairs(any(), any());
+        verify(comparisonRepository, never()).findByStudent1AndStudent2(any(), any());
+        ArgumentCaptor<List<Comparison>> saved = captureSaved();
+        assertEquals(3, saved.getValue().size());
+        assertEquals(0.8, saved.getValue().get(0).getSimilarityScore());
+    }
+    
+    @Test
+    void aReplayedComparisonOlderThanTheStoredOneIsSkipped() {
+        when(comparisonRepository.findPairs(any(), any())).thenReturn(List.of(comparison(1, 2, 0.9, NOW)));
+        
+        store.writeComparisons(List.of(comparison(1, 2, 0.3, NOW.minusHours(1))));
+        
+        ArgumentCaptor<List<Comparison>> saved = captureSaved();
+        assertTrue(saved.getValue().isEmpty());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<Comparison>> captureSaved() {
+        ArgumentCaptor<List<Comparison>> saved = ArgumentCaptor.forClass(List.class);
+        verify(comparisonRepository).saveAll(saved.capture());
+        return saved;
+    }
+}